@@ -2,10 +2,15 @@ package com.asset.gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.core.publisher.Hooks;
 
 @SpringBootApplication
+@EnableScheduling
 public class ApiGatewayApplication {
     public static void main(String[] args) {
+        // traceId/spanId в MDC для логов из реактивных цепочек
+        Hooks.enableAutomaticContextPropagation();
         SpringApplication.run(ApiGatewayApplication.class, args);
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.asset.gateway.config;
+
+import com.asset.gateway.service.InMemoryRateLimitStore;
+import com.asset.gateway.service.RateLimitStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${gateway.rate-limit.max-buckets:100000}")
+    private long maxBuckets;
+
+    @Value("${gateway.rate-limit.idle-seconds:600}")
+    private long idleSeconds;
+
+    // Общее хранилище для нескольких экземпляров: gateway.rate-limit.store=<имя> и свой бин.
+    // Выбор по свойству, а не @ConditionalOnMissingBean: в обычной @Configuration тот
+    // зависит от порядка сканирования
+    @Bean
+    @ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "in-memory", matchIfMissing = true)
+    public RateLimitStore rateLimitStore() {
+        return new InMemoryRateLimitStore(maxBuckets, Duration.ofSeconds(idleSeconds));
+    }
+}
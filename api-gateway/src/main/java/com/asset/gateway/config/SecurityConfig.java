@@ -1,23 +1,72 @@
 package com.asset.gateway.config;
 
+import com.asset.common.security.PrincipalHeaderCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.server.authentication.ServerBearerTokenAuthenticationConverter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import reactor.core.publisher.Mono;
 
 @Configuration
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    @Value("${keycloak.url:http://keycloak:8080}")
+    private String keycloakBaseUrl;
+
+    @Value("${keycloak.realm:asset-management}")
+    private String realm;
+
+    @Value("${gateway.principal.secret:}")
+    private String principalSecret;
+
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
         http
                 .authorizeExchange(exchanges -> exchanges
-                        .anyExchange().permitAll()  // Разрешаем все запросы
+                        // Публичные эндпоинты asset-service
+                        .pathMatchers(
+                                "/api/assets/health",
+                                "/api/assets/health/**",
+                                "/api/assets/test",
+                                "/api/assets/db-check"
+                        ).permitAll()
+                        // Токен проверяется один раз здесь, невалидный отсекается до сервиса
+                        .pathMatchers("/api/assets/**").authenticated()
+                        .anyExchange().permitAll()
+                )
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .bearerTokenConverter(bearerTokenConverter())
+                        .jwt(jwt -> jwt.jwtDecoder(jwtDecoder()))
                 )
                 .csrf(csrf -> csrf.disable());
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder() {
+        // JWKS кэшируется декодером и перечитывается при появлении нового kid
+        String jwkSetUri = keycloakBaseUrl + "/realms/" + realm + "/protocol/openid-connect/certs";
+        return NimbusReactiveJwtDecoder.withJwkSetUri(jwkSetUri).build();
+    }
+
+    @Bean
+    public PrincipalHeaderCodec principalHeaderCodec() {
+        return new PrincipalHeaderCodec(principalSecret);
+    }
+
+    private ServerAuthenticationConverter bearerTokenConverter() {
+        ServerBearerTokenAuthenticationConverter delegate = new ServerBearerTokenAuthenticationConverter();
+        // auth-service сам разбирает свои токены (в т.ч. тестовые не-JWT), их здесь не проверяем
+        return exchange -> exchange.getRequest().getPath().value().startsWith("/api/auth/")
+                ? Mono.empty()
+                : delegate.convert(exchange);
+    }
+}
@@ -1,6 +1,13 @@
 package com.asset.gateway.controller;
 
+import com.asset.gateway.service.DownstreamHealthMonitor;
+import com.asset.gateway.service.EdgeResponseCache;
+import com.asset.gateway.service.RateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,9 +21,23 @@ import java.util.Map;
 @RequestMapping("/api/gateway")
 public class GatewayController {
 
+    private static final Map<String, Object> STATUS_UP = Map.of("status", "UP");
+
     @Value("${spring.application.name}")
     private String appName;
 
+    @Autowired
+    private DownstreamHealthMonitor downstreamHealthMonitor;
+
+    @Autowired
+    private EdgeResponseCache edgeResponseCache;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
     @GetMapping("/health")
     public ResponseEntity<?> health() {
         Map<String, Object> response = new LinkedHashMap<>();
@@ -29,6 +50,55 @@ public class GatewayController {
                 Map.of("service", "Auth API Docs", "path", "/auth-api-docs", "url", "/auth-api-docs"),
                 Map.of("service", "Asset API Docs", "path", "/asset-api-docs", "url", "/asset-api-docs")
         ));
+        response.put("dependencies", dependencies());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/health/live")
+    public ResponseEntity<?> liveness() {
+        return ResponseEntity.ok(STATUS_UP);
+    }
+
+    // Готовность - только локальное состояние gateway: падение одного сервиса не должно
+    // выводить из балансировки все реплики и отрезать маршруты к остальным.
+    // Состояние сервисов за gateway - справочно, в теле ответа и в /health/downstream
+    @GetMapping("/health/ready")
+    public ResponseEntity<?> readiness() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("downstream", downstreamHealthMonitor.allUp() ? "UP" : "DEGRADED");
+        if (applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            response.put("status", "UP");
+            return ResponseEntity.ok(response);
+        }
+        response.put("status", "OUT_OF_SERVICE");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @GetMapping("/health/downstream")
+    public ResponseEntity<?> downstream() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", downstreamHealthMonitor.allUp() ? "UP" : "DEGRADED");
+        response.put("dependencies", dependencies());
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> dependencies() {
+        Map<String, Object> dependencies = new LinkedHashMap<>();
+        downstreamHealthMonitor.results().forEach((name, health) -> dependencies.put(name, health.toMap()));
+        return dependencies;
+    }
+
+    @GetMapping("/edge-cache/stats")
+    public ResponseEntity<?> edgeCacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>(edgeResponseCache.stats());
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/rate-limit/stats")
+    public ResponseEntity<?> rateLimitStats() {
+        Map<String, Object> response = new LinkedHashMap<>(rateLimiter.stats());
+        response.put("timestamp", System.currentTimeMillis());
         return ResponseEntity.ok(response);
     }
 
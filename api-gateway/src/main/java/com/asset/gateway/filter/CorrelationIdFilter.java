@@ -0,0 +1,43 @@
+package com.asset.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Присваивает каждому проксируемому запросу X-Correlation-Id (или сохраняет
+ * присланный клиентом) и передаёт его в auth-service и asset-service.
+ */
+@Component
+public class CorrelationIdFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER = "X-Correlation-Id";
+
+    private static final int MAX_LENGTH = 128;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String incoming = exchange.getRequest().getHeaders().getFirst(HEADER);
+        String correlationId = (incoming == null || incoming.isBlank() || incoming.length() > MAX_LENGTH)
+                ? UUID.randomUUID().toString()
+                : incoming;
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.set(HEADER, correlationId))
+                .build();
+        exchange.getResponse().getHeaders().set(HEADER, correlationId);
+
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,245 @@
+package com.asset.gateway.filter;
+
+import com.asset.gateway.service.AssetsChangedEvent;
+import com.asset.gateway.service.EdgeResponseCache;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Кэширует GET /api/assets, /api/assets/{id} и /api/assets/my отдельно для
+ * каждого пользователя и набора ролей. Ответы получают ETag, запрос с
+ * совпадающим If-None-Match получает 304 прямо от gateway.
+ *
+ * Изменяющие запросы к /api/assets/** сбрасывают кэш после ответа сервиса.
+ * Кэш локальный для экземпляра gateway.
+ */
+@Component
+public class EdgeCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String ASSETS_PREFIX = "/api/assets";
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("^/api/assets(/\\d+|/my)?$");
+    private static final Set<HttpMethod> READ_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private static final String CACHE_STATUS_HEADER = "X-Edge-Cache";
+    // Клиент может хранить ответ, но обязан перепроверять его по ETag
+    private static final String CACHE_CONTROL = "private, no-cache";
+    private static final String NO_KEY = "";
+
+    @Autowired
+    private EdgeResponseCache edgeResponseCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        if (!edgeResponseCache.isEnabled() || !path.startsWith(ASSETS_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        HttpMethod method = request.getMethod();
+        if (!READ_METHODS.contains(method)) {
+            edgeResponseCache.beginWrite();
+            return chain.filter(exchange)
+                    .doFinally(signal -> eventPublisher.publishEvent(new AssetsChangedEvent(method.name(), path)));
+        }
+
+        if (!HttpMethod.GET.equals(method) || !CACHEABLE_PATH.matcher(path).matches()) {
+            return chain.filter(exchange);
+        }
+
+        return exchange.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(principal -> cacheKey(((JwtAuthenticationToken) principal).getToken(), request))
+                .defaultIfEmpty(NO_KEY)
+                .flatMap(key -> key.isEmpty() ? chain.filter(exchange) : serve(exchange, chain, key));
+    }
+
+    @Override
+    public int getOrder() {
+        // Раньше NettyWriteResponseFilter (-1), иначе тело ответа не перехватить
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+
+        EdgeResponseCache.Entry cached = edgeResponseCache.get(key);
+        if (cached != null) {
+            return writeCached(exchange.getResponse(), cached, ifNoneMatch);
+        }
+
+        CachingResponse response = new CachingResponse(exchange.getResponse(), key,
+                edgeResponseCache.generation(), ifNoneMatch);
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private static Mono<Void> writeCached(ServerHttpResponse response, EdgeResponseCache.Entry entry,
+                                          String ifNoneMatch) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(entry.etag());
+        headers.setCacheControl(CACHE_CONTROL);
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+
+        if (matches(ifNoneMatch, entry.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (entry.contentType() != null) {
+            headers.setContentType(entry.contentType());
+        }
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    private static String cacheKey(Jwt jwt, ServerHttpRequest request) {
+        List<String> roles = new ArrayList<>(PrincipalPropagationFilter.realmRoles(jwt));
+        Collections.sort(roles);
+        String query = request.getURI().getRawQuery();
+        return jwt.getSubject() + '|' + String.join(",", roles) + '|'
+                + request.getPath().value() + (query != null ? "?" + query : "");
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Собирает тело успешного ответа, сохраняет его в кэш и проставляет ETag.
+     * Тело без Content-Length копится, только пока помещается в лимит записи:
+     * превысив его, ответ уходит клиенту потоком и в кэш не попадает.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final long generation;
+        private final String ifNoneMatch;
+
+        CachingResponse(ServerHttpResponse delegate, String key, long generation, String ifNoneMatch) {
+            super(delegate);
+            this.key = key;
+            this.generation = generation;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            int limit = edgeResponseCache.maxEntryBytes();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || getHeaders().getContentLength() > limit) {
+                return super.writeWith(body);
+            }
+
+            // Первый список - всё тело, если оно не больше лимита, иначе начало,
+            // на котором лимит превышен; остальные буферы идут по одному
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(new SizeLimit(limit))
+                    .switchOnFirst((first, parts) -> {
+                        if (first.isOnComplete()) {
+                            return cacheAndWrite(List.of());
+                        }
+                        if (first.hasValue() && size(first.get()) <= limit) {
+                            return cacheAndWrite(first.get());
+                        }
+                        getHeaders().set(CACHE_STATUS_HEADER, "BYPASS");
+                        return super.writeWith(parts.concatMapIterable(buffers -> buffers));
+                    })
+                    .then();
+        }
+
+        private Mono<Void> cacheAndWrite(List<? extends DataBuffer> buffers) {
+            byte[] bytes = new byte[size(buffers)];
+            int offset = 0;
+            for (DataBuffer buffer : buffers) {
+                int length = buffer.readableByteCount();
+                buffer.read(bytes, offset, length);
+                offset += length;
+                DataBufferUtils.release(buffer);
+            }
+
+            HttpHeaders headers = getHeaders();
+            String etag = EdgeResponseCache.etag(bytes);
+            edgeResponseCache.put(key, generation, new EdgeResponseCache.Entry(bytes, headers.getContentType(), etag));
+
+            headers.setETag(etag);
+            headers.setCacheControl(CACHE_CONTROL);
+            headers.remove(HttpHeaders.PRAGMA);
+            headers.remove(HttpHeaders.EXPIRES);
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            headers.set(CACHE_STATUS_HEADER, "MISS");
+
+            if (matches(ifNoneMatch, etag)) {
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                return setComplete();
+            }
+            headers.setContentLength(bytes.length);
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+    }
+
+    private static int size(List<? extends DataBuffer> buffers) {
+        int size = 0;
+        for (DataBuffer buffer : buffers) {
+            size += buffer.readableByteCount();
+        }
+        return size;
+    }
+
+    // Режет поток, как только накопленный размер превысил лимит
+    private static final class SizeLimit implements Predicate<DataBuffer> {
+
+        private final int limit;
+        private long size;
+
+        SizeLimit(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean test(DataBuffer buffer) {
+            size += buffer.readableByteCount();
+            return size > limit;
+        }
+    }
+}
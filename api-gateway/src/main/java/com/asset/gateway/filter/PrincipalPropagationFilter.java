@@ -0,0 +1,75 @@
+package com.asset.gateway.filter;
+
+import com.asset.common.security.GatewayPrincipal;
+import com.asset.common.security.PrincipalHeaderCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Передаёт сервисам пользователя, проверенного SecurityConfig, в подписанном
+ * заголовке {@link PrincipalHeaderCodec#HEADER}. Присланный клиентом заголовок
+ * с тем же именем всегда удаляется.
+ */
+@Component
+public class PrincipalPropagationFilter implements GlobalFilter, Ordered {
+
+    @Autowired
+    private PrincipalHeaderCodec principalHeaderCodec;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerWebExchange cleaned = exchange.mutate()
+                .request(exchange.getRequest().mutate()
+                        .headers(headers -> headers.remove(PrincipalHeaderCodec.HEADER))
+                        .build())
+                .build();
+
+        if (!principalHeaderCodec.isEnabled()) {
+            return chain.filter(cleaned);
+        }
+
+        return exchange.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(principal -> {
+                    Jwt jwt = ((JwtAuthenticationToken) principal).getToken();
+                    String header = principalHeaderCodec.encode(toGatewayPrincipal(jwt));
+                    return cleaned.mutate()
+                            .request(cleaned.getRequest().mutate()
+                                    .header(PrincipalHeaderCodec.HEADER, header)
+                                    .build())
+                            .build();
+                })
+                .defaultIfEmpty(cleaned)
+                .flatMap(chain::filter);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    private static GatewayPrincipal toGatewayPrincipal(Jwt jwt) {
+        long exp = jwt.getExpiresAt() != null ? jwt.getExpiresAt().getEpochSecond() : 0;
+        return new GatewayPrincipal(jwt.getSubject(), jwt.getClaimAsString("preferred_username"),
+                realmRoles(jwt), exp);
+    }
+
+    static List<String> realmRoles(Jwt jwt) {
+        Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+        if (realmAccess != null && realmAccess.get("roles") instanceof Collection<?> roles) {
+            return roles.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+}
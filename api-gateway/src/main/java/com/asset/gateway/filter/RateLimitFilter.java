@@ -0,0 +1,89 @@
+package com.asset.gateway.filter;
+
+import com.asset.gateway.service.RateLimitDecision;
+import com.asset.gateway.service.RateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+
+/**
+ * Ограничивает частоту проксируемых запросов (см. {@link RateLimiter}).
+ * Клиент - аутентифицированный пользователь, иначе IP-адрес. При
+ * превышении лимита отвечает 429 с Retry-After, не обращаясь к сервису.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    // X-Forwarded-For учитывается только за доверенным балансировщиком
+    @Value("${gateway.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!rateLimiter.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        String path = exchange.getRequest().getPath().value();
+
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .map(name -> "user:" + name)
+                .defaultIfEmpty("ip:" + clientAddress(exchange.getRequest()))
+                .flatMap(clientId -> rateLimiter.check(path, clientId))
+                .flatMap(decision -> {
+                    if (decision.allowed()) {
+                        exchange.getResponse().getHeaders()
+                                .set("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+                        return chain.filter(exchange);
+                    }
+                    return reject(exchange.getResponse(), decision);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private String clientAddress(ServerHttpRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                return forwarded.split(",")[0].trim();
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null
+                ? remote.getAddress().getHostAddress()
+                : "unknown";
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, RateLimitDecision decision) {
+        long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().set("X-RateLimit-Remaining", "0");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(TOO_MANY_REQUESTS_BODY)));
+    }
+}
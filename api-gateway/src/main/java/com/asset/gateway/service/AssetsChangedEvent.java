@@ -0,0 +1,8 @@
+package com.asset.gateway.service;
+
+/**
+ * Через gateway прошёл изменяющий запрос к /api/assets/**. Ответы,
+ * закэшированные до него, могут быть устаревшими.
+ */
+public record AssetsChangedEvent(String method, String path) {
+}
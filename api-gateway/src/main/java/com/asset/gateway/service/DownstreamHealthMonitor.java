@@ -0,0 +1,66 @@
+package com.asset.gateway.service;
+
+import com.asset.common.health.DependencyHealth;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Неблокирующая фоновая проверка сервисов за gateway. Опрашивает их
+ * liveness-эндпоинты по расписанию и хранит последний результат для
+ * /health и /health/downstream.
+ */
+@Component
+public class DownstreamHealthMonitor {
+
+    private final WebClient webClient;
+    private final Map<String, String> probeUrls = new LinkedHashMap<>();
+    private final Map<String, DependencyHealth> results = new ConcurrentHashMap<>();
+
+    @Value("${health.probe-timeout-ms:2000}")
+    private long probeTimeoutMs;
+
+    public DownstreamHealthMonitor(WebClient.Builder webClientBuilder,
+                                   @Value("${services.auth.url:http://auth-service:8083}") String authUrl,
+                                   @Value("${services.asset.url:http://asset-service:8084}") String assetUrl) {
+        this.webClient = webClientBuilder.build();
+        probeUrls.put("auth-service", authUrl + "/api/auth/health/live");
+        probeUrls.put("asset-service", assetUrl + "/api/assets/health/live");
+        probeUrls.keySet().forEach(name -> results.put(name, DependencyHealth.unknown()));
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${health.check-interval-ms:15000}")
+    public void checkDownstreams() {
+        probeUrls.forEach((name, url) -> {
+            long start = System.nanoTime();
+            webClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(Duration.ofMillis(probeTimeoutMs))
+                    .subscribe(
+                            response -> results.put(name, DependencyHealth.up(elapsedMs(start))),
+                            error -> results.put(name,
+                                    DependencyHealth.down(String.valueOf(error.getMessage()), elapsedMs(start))));
+        });
+    }
+
+    public Map<String, DependencyHealth> results() {
+        return results;
+    }
+
+    // Справочно: на готовность самого gateway не влияет
+    public boolean allUp() {
+        return results.values().stream().allMatch(DependencyHealth::isUp);
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,150 @@
+package com.asset.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш GET-ответов asset-service на gateway. Размер ограничен суммарным
+ * объёмом тел ответов, время жизни записи - несколько секунд.
+ *
+ * Любой изменяющий запрос к /api/assets/** сбрасывает весь кэш
+ * ({@link AssetsChangedEvent}). Счётчик поколений не даёт сохранить ответ
+ * GET-запроса, который начался до завершения записи.
+ */
+@Component
+public class EdgeResponseCache implements MeterBinder {
+
+    public record Entry(byte[] body, MediaType contentType, String etag) {
+    }
+
+    // Накладные расходы записи сверх тела и ключа
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    @Value("${gateway.edge-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.edge-cache.ttl-seconds:5}")
+    private long ttlSeconds;
+
+    @Value("${gateway.edge-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${gateway.edge-cache.max-entry-bytes:1048576}")
+    private int maxEntryBytes;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private Cache<String, Entry> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> key.length() * 2 + entry.body().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public Entry get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Текущее поколение; запоминается в начале GET-запроса и передаётся в {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Сохраняет ответ, только если с начала запроса не было записей.
+     */
+    public void put(String key, long startedGeneration, Entry entry) {
+        if (entry.body().length > maxEntryBytes || generation.get() != startedGeneration) {
+            return;
+        }
+        cache.put(key, entry);
+        // Запись могла завершиться между проверкой и put
+        if (generation.get() != startedGeneration) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Вызывается до проксирования изменяющего запроса: GET-запросы,
+     * идущие параллельно, не должны попасть в кэш.
+     */
+    public void beginWrite() {
+        generation.incrementAndGet();
+    }
+
+    @EventListener
+    public void onAssetsChanged(AssetsChangedEvent event) {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        invalidations.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "gatewayEdgeCache");
+        FunctionCounter.builder("gateway.edge.cache.invalidations", invalidations, AtomicLong::get)
+                .description("Edge cache flushes caused by asset writes")
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("invalidations", invalidations.get());
+        result.put("ttlSeconds", ttlSeconds);
+        result.put("maxBytes", maxBytes);
+        return result;
+    }
+
+    /**
+     * Сильный ETag по содержимому тела.
+     */
+    public static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
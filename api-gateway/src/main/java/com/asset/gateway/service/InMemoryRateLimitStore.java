@@ -0,0 +1,113 @@
+package com.asset.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket в памяти без блокировок: состояние корзины - неизменяемый
+ * объект, обновляется через compareAndSet. Неактивные корзины вытесняются,
+ * число корзин ограничено.
+ *
+ * Несколько корзин сначала все проверяются и только потом списываются.
+ * Если корзину успели опустошить между проверкой и списанием, уже взятые
+ * токены возвращаются.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private record Bucket(double tokens, long updatedNanos) {
+    }
+
+    private final Cache<String, AtomicReference<Bucket>> buckets;
+
+    public InMemoryRateLimitStore(long maxBuckets, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryConsume(Map<String, RateLimit> limits) {
+        return Mono.just(consume(limits));
+    }
+
+    RateLimitDecision consume(Map<String, RateLimit> limits) {
+        List<AtomicReference<Bucket>> states = new ArrayList<>(limits.size());
+        long retryAfterMillis = 0;
+        for (Map.Entry<String, RateLimit> entry : limits.entrySet()) {
+            RateLimit limit = entry.getValue();
+            AtomicReference<Bucket> state = buckets.get(entry.getKey(),
+                    k -> new AtomicReference<>(new Bucket(limit.capacity(), System.nanoTime())));
+            states.add(state);
+            double tokens = available(state.get(), limit, System.nanoTime());
+            if (tokens < 1) {
+                retryAfterMillis = Math.max(retryAfterMillis, retryAfter(tokens, limit));
+            }
+        }
+        if (retryAfterMillis > 0) {
+            return RateLimitDecision.rejected(retryAfterMillis);
+        }
+
+        List<RateLimit> limitList = new ArrayList<>(limits.values());
+        RateLimitDecision first = null;
+        for (int i = 0; i < states.size(); i++) {
+            RateLimitDecision decision = take(states.get(i), limitList.get(i));
+            if (!decision.allowed()) {
+                for (int j = 0; j < i; j++) {
+                    refund(states.get(j), limitList.get(j));
+                }
+                return decision;
+            }
+            if (first == null) {
+                first = decision;
+            }
+        }
+        return first;
+    }
+
+    private static RateLimitDecision take(AtomicReference<Bucket> state, RateLimit limit) {
+        while (true) {
+            Bucket current = state.get();
+            long now = System.nanoTime();
+            double tokens = available(current, limit, now);
+
+            if (tokens < 1) {
+                return RateLimitDecision.rejected(retryAfter(tokens, limit));
+            }
+            if (state.compareAndSet(current, new Bucket(tokens - 1, now))) {
+                return RateLimitDecision.allowed((long) (tokens - 1));
+            }
+        }
+    }
+
+    private static void refund(AtomicReference<Bucket> state, RateLimit limit) {
+        while (true) {
+            Bucket current = state.get();
+            long now = System.nanoTime();
+            double tokens = Math.min(limit.capacity(), available(current, limit, now) + 1);
+            if (state.compareAndSet(current, new Bucket(tokens, now))) {
+                return;
+            }
+        }
+    }
+
+    private static double available(Bucket bucket, RateLimit limit, long now) {
+        long elapsed = Math.max(0, now - bucket.updatedNanos());
+        return Math.min(limit.capacity(), bucket.tokens() + elapsed * limit.refillPerSecond() / 1_000_000_000d);
+    }
+
+    private static long retryAfter(double tokens, RateLimit limit) {
+        return (long) Math.ceil((1 - tokens) * 1000 / limit.refillPerSecond());
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,15 @@
+package com.asset.gateway.service;
+
+/**
+ * Параметры token bucket: не больше capacity запросов подряд,
+ * дальше - refillPerSecond запросов в секунду.
+ */
+public record RateLimit(long capacity, double refillPerSecond) {
+
+    public RateLimit {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Invalid rate limit: capacity=" + capacity
+                    + ", refillPerSecond=" + refillPerSecond);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.asset.gateway.service;
+
+/**
+ * Результат попытки взять токен: remaining - сколько токенов осталось,
+ * retryAfterMillis - через сколько появится следующий (для отказа).
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterMillis) {
+
+    public static RateLimitDecision allowed(long remaining) {
+        return new RateLimitDecision(true, remaining, 0);
+    }
+
+    public static RateLimitDecision rejected(long retryAfterMillis) {
+        return new RateLimitDecision(false, 0, retryAfterMillis);
+    }
+}
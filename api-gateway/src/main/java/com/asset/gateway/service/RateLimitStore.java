@@ -0,0 +1,21 @@
+package com.asset.gateway.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Хранилище состояния token bucket. По умолчанию - {@link InMemoryRateLimitStore}
+ * (лимиты на каждый экземпляр gateway). Для общего лимита на несколько
+ * экземпляров объявляется свой бин этого типа (например, поверх Redis) и
+ * gateway.rate-limit.store, отличный от in-memory.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Пытается взять по одному токену из каждой корзины (ключ - параметры).
+     * Если хотя бы в одной корзине токена нет, не списывается ни из одной.
+     * remaining в решении - остаток первой корзины.
+     */
+    Mono<RateLimitDecision> tryConsume(Map<String, RateLimit> buckets);
+}
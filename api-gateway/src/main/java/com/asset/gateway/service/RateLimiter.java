@@ -0,0 +1,136 @@
+package com.asset.gateway.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Правила ограничения запросов: у каждого клиента своя корзина на правило,
+ * у правила для /api/auth/login и /api/auth/refresh есть ещё общая корзина,
+ * которая ограничивает суммарную нагрузку на Keycloak.
+ *
+ * Отдельное правило есть только у этих двух путей. Все остальные маршруты
+ * входят в правило default: у клиента одна корзина на все них вместе, общей
+ * корзины маршрута нет. Лимит для другого маршрута - новое правило в init().
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private record Rule(String name, Set<String> paths, RateLimit perClient, RateLimit route) {
+
+        boolean matches(String path) {
+            return paths.isEmpty() || paths.contains(path);
+        }
+    }
+
+    private static final Set<String> KEYCLOAK_PATHS = Set.of("/api/auth/login", "/api/auth/refresh");
+
+    @Value("${gateway.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.rate-limit.auth.per-client.capacity:10}")
+    private long authClientCapacity;
+
+    @Value("${gateway.rate-limit.auth.per-client.refill-per-second:0.5}")
+    private double authClientRefill;
+
+    @Value("${gateway.rate-limit.auth.route.capacity:200}")
+    private long authRouteCapacity;
+
+    @Value("${gateway.rate-limit.auth.route.refill-per-second:100}")
+    private double authRouteRefill;
+
+    @Value("${gateway.rate-limit.default.per-client.capacity:200}")
+    private long defaultClientCapacity;
+
+    @Value("${gateway.rate-limit.default.per-client.refill-per-second:100}")
+    private double defaultClientRefill;
+
+    @Autowired
+    private RateLimitStore store;
+
+    private List<Rule> rules;
+    private final Map<String, LongAdder> allowed = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        rules = List.of(
+                new Rule("auth-token", KEYCLOAK_PATHS,
+                        new RateLimit(authClientCapacity, authClientRefill),
+                        new RateLimit(authRouteCapacity, authRouteRefill)),
+                new Rule("default", Set.of(),
+                        new RateLimit(defaultClientCapacity, defaultClientRefill),
+                        null)
+        );
+        rules.forEach(rule -> {
+            allowed.put(rule.name(), new LongAdder());
+            rejected.put(rule.name(), new LongAdder());
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Берёт токен из корзины клиента и общей корзины правила, только если
+     * он есть в обеих: отказ по общей корзине не тратит лимит клиента.
+     */
+    public Mono<RateLimitDecision> check(String path, String clientId) {
+        Rule rule = rules.stream().filter(r -> r.matches(path)).findFirst().orElseThrow();
+        Map<String, RateLimit> buckets = new LinkedHashMap<>();
+        buckets.put(rule.name() + "|" + clientId, rule.perClient());
+        if (rule.route() != null) {
+            buckets.put(rule.name() + "|*", rule.route());
+        }
+        return store.tryConsume(buckets)
+                .doOnNext(decision -> (decision.allowed() ? allowed : rejected).get(rule.name()).increment());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Rule rule : rules) {
+            FunctionCounter.builder("gateway.rate.limit.requests", allowed.get(rule.name()), LongAdder::sum)
+                    .tag("rule", rule.name())
+                    .tag("result", "allowed")
+                    .register(registry);
+            FunctionCounter.builder("gateway.rate.limit.requests", rejected.get(rule.name()), LongAdder::sum)
+                    .tag("rule", rule.name())
+                    .tag("result", "rejected")
+                    .register(registry);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("store", store.getClass().getSimpleName());
+        for (Rule rule : rules) {
+            Map<String, Object> ruleStats = new LinkedHashMap<>();
+            ruleStats.put("allowed", allowed.get(rule.name()).sum());
+            ruleStats.put("rejected", rejected.get(rule.name()).sum());
+            ruleStats.put("perClient", rule.perClient());
+            if (rule.route() != null) {
+                ruleStats.put("route", rule.route());
+            }
+            result.put(rule.name(), ruleStats);
+        }
+        if (store instanceof InMemoryRateLimitStore inMemory) {
+            result.put("buckets", inMemory.size());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package com.asset.gateway.config;
+
+import com.asset.gateway.service.InMemoryRateLimitStore;
+import com.asset.gateway.service.RateLimitDecision;
+import com.asset.gateway.service.RateLimitStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner();
+
+    @Test
+    void inMemoryStoreByDefault() {
+        runner.withUserConfiguration(RateLimitConfig.class)
+                .run(context -> assertThat(context.getBean(RateLimitStore.class))
+                        .isInstanceOf(InMemoryRateLimitStore.class));
+    }
+
+    @Test
+    void pluggedStoreReplacesDefaultRegardlessOfRegistrationOrder() {
+        // Свой бин регистрируется раньше конфигурации по умолчанию
+        runner.withUserConfiguration(SharedStoreConfig.class, RateLimitConfig.class)
+                .withPropertyValues("gateway.rate-limit.store=shared")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(RateLimitStore.class);
+                    assertThat(context.getBean(RateLimitStore.class)).isSameAs(SharedStoreConfig.STORE);
+                });
+        runner.withUserConfiguration(RateLimitConfig.class, SharedStoreConfig.class)
+                .withPropertyValues("gateway.rate-limit.store=shared")
+                .run(context -> assertThat(context.getBean(RateLimitStore.class)).isSameAs(SharedStoreConfig.STORE));
+    }
+
+    @Configuration
+    static class SharedStoreConfig {
+
+        static final RateLimitStore STORE = buckets -> Mono.just(RateLimitDecision.allowed(0));
+
+        @Bean
+        RateLimitStore sharedRateLimitStore() {
+            return STORE;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.asset.gateway.controller;
+
+import com.asset.common.health.DependencyHealth;
+import com.asset.gateway.service.DownstreamHealthMonitor;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GatewayControllerTest {
+
+    private final DownstreamHealthMonitor monitor = mock(DownstreamHealthMonitor.class);
+    private final ApplicationAvailability availability = mock(ApplicationAvailability.class);
+    private final GatewayController controller = new GatewayController();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(controller, "downstreamHealthMonitor", monitor);
+        ReflectionTestUtils.setField(controller, "applicationAvailability", availability);
+
+        Map<String, DependencyHealth> results = new LinkedHashMap<>();
+        results.put("auth-service", DependencyHealth.down("Connection refused", 3));
+        results.put("asset-service", DependencyHealth.up(5));
+        when(monitor.results()).thenReturn(results);
+        when(monitor.allUp()).thenReturn(false);
+    }
+
+    @Test
+    void downstreamOutageDoesNotTakeGatewayOutOfRotation() {
+        when(availability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+
+        ResponseEntity<?> response = controller.readiness();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((Map<?, ?>) response.getBody()).get("downstream")).isEqualTo("DEGRADED");
+    }
+
+    @Test
+    void refusingTrafficLocallyIsNotReady() {
+        when(availability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+
+        assertThat(controller.readiness().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void downstreamEndpointReportsEachService() {
+        Map<?, ?> body = (Map<?, ?>) controller.downstream().getBody();
+
+        assertThat(body.get("status")).isEqualTo("DEGRADED");
+        assertThat(body.get("dependencies")).asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsOnlyKeys("auth-service", "asset-service");
+    }
+}
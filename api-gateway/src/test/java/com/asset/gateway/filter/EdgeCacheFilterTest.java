@@ -0,0 +1,134 @@
+package com.asset.gateway.filter;
+
+import com.asset.gateway.service.EdgeResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EdgeCacheFilterTest {
+
+    private static final int MAX_ENTRY_BYTES = 16;
+
+    private final EdgeResponseCache cache = new EdgeResponseCache();
+    private final EdgeCacheFilter filter = new EdgeCacheFilter();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_048_576L);
+        ReflectionTestUtils.setField(cache, "maxEntryBytes", MAX_ENTRY_BYTES);
+        cache.init();
+        ReflectionTestUtils.setField(filter, "edgeResponseCache", cache);
+        ReflectionTestUtils.setField(filter, "eventPublisher", (ApplicationEventPublisher) event -> {
+        });
+    }
+
+    @Test
+    void smallChunkedBodyIsCachedWithEtag() {
+        GatewayFilterChain chain = upstream("01234", "56789");
+
+        MockServerHttpResponse first = get(chain, null);
+        MockServerHttpResponse second = get(chain, null);
+
+        assertThat(first.getHeaders().getFirst("X-Edge-Cache")).isEqualTo("MISS");
+        assertThat(first.getHeaders().getETag()).isNotNull();
+        assertThat(first.getHeaders().getContentLength()).isEqualTo(10);
+        assertThat(first.getBodyAsString().block()).isEqualTo("0123456789");
+        assertThat(second.getHeaders().getFirst("X-Edge-Cache")).isEqualTo("HIT");
+        assertThat(second.getBodyAsString().block()).isEqualTo("0123456789");
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void matchingIfNoneMatchGetsNotModified() {
+        GatewayFilterChain chain = upstream("{\"id\":1}");
+        String etag = get(chain, null).getHeaders().getETag();
+
+        MockServerHttpResponse revalidated = get(chain, etag);
+
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getBodyAsString().block()).isEmpty();
+    }
+
+    @Test
+    void chunkedBodyOverLimitIsStreamedAndNotCached() {
+        GatewayFilterChain chain = upstream("0123456789", "abcdefghij", "ABCDEFGHIJ");
+
+        MockServerHttpResponse first = get(chain, null);
+        MockServerHttpResponse second = get(chain, null);
+
+        assertThat(first.getHeaders().getFirst("X-Edge-Cache")).isEqualTo("BYPASS");
+        assertThat(first.getHeaders().getETag()).isNull();
+        assertThat(first.getBodyAsString().block()).isEqualTo("0123456789abcdefghijABCDEFGHIJ");
+        assertThat(second.getBodyAsString().block()).isEqualTo("0123456789abcdefghijABCDEFGHIJ");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void emptyBodyIsCached() {
+        GatewayFilterChain chain = upstream();
+
+        assertThat(get(chain, null).getHeaders().getContentLength()).isZero();
+        assertThat(get(chain, null).getHeaders().getFirst("X-Edge-Cache")).isEqualTo("HIT");
+    }
+
+    private GatewayFilterChain upstream(String... chunks) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            // Content-Length не задан - как у ответа с Transfer-Encoding: chunked
+            return response.writeWith(Flux.fromArray(chunks).map(EdgeCacheFilterTest::buffer));
+        };
+    }
+
+    private MockServerHttpResponse get(GatewayFilterChain chain, String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/assets/1");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        ServerWebExchange exchange = MockServerWebExchange.from(request).mutate()
+                .principal(Mono.just(new JwtAuthenticationToken(jwt())))
+                .build();
+        filter.filter(exchange, chain).block();
+        return (MockServerHttpResponse) exchange.getResponse();
+    }
+
+    private static Jwt jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject("user-1")
+                .claim("realm_access", Map.of("roles", List.of("user")))
+                .build();
+    }
+
+    private static DataBuffer buffer(String value) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
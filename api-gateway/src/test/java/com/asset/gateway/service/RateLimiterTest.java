@@ -0,0 +1,108 @@
+package com.asset.gateway.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    // Пополнение раз в ~17 минут - в пределах теста корзины не наполняются
+    private static final double SLOW_REFILL = 0.001;
+
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(1000, Duration.ofMinutes(10));
+    private final RateLimiter rateLimiter = new RateLimiter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "authClientCapacity", 3L);
+        ReflectionTestUtils.setField(rateLimiter, "authClientRefill", SLOW_REFILL);
+        ReflectionTestUtils.setField(rateLimiter, "authRouteCapacity", 2L);
+        ReflectionTestUtils.setField(rateLimiter, "authRouteRefill", SLOW_REFILL);
+        ReflectionTestUtils.setField(rateLimiter, "defaultClientCapacity", 2L);
+        ReflectionTestUtils.setField(rateLimiter, "defaultClientRefill", SLOW_REFILL);
+        ReflectionTestUtils.setField(rateLimiter, "store", store);
+        rateLimiter.init();
+    }
+
+    @Test
+    void perClientLimitApplies() {
+        assertThat(check("/api/auth/login", "ip:1").remaining()).isEqualTo(2);
+        assertThat(check("/api/auth/login", "ip:1").remaining()).isEqualTo(1);
+        assertThat(check("/api/assets", "ip:1").allowed()).isTrue();
+        assertThat(check("/api/assets", "ip:1").allowed()).isTrue();
+
+        RateLimitDecision rejected = check("/api/assets", "ip:1");
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterMillis()).isPositive();
+    }
+
+    @Test
+    void routeRejectionDoesNotSpendClientToken() {
+        assertThat(check("/api/auth/login", "ip:1").allowed()).isTrue();
+        assertThat(check("/api/auth/refresh", "ip:2").allowed()).isTrue();
+
+        // Общая корзина Keycloak пуста: клиент 3 получает отказ, но его корзина цела
+        for (int i = 0; i < 5; i++) {
+            assertThat(check("/api/auth/login", "ip:3").allowed()).isFalse();
+        }
+        RateLimitDecision own = store.consume(Map.of("auth-token|ip:3", new RateLimit(3, SLOW_REFILL)));
+        assertThat(own.allowed()).isTrue();
+        assertThat(own.remaining()).isEqualTo(2);
+    }
+
+    @Test
+    void allRoutesOutsideAuthShareDefaultBucket() {
+        assertThat(check("/api/assets", "user:alice").allowed()).isTrue();
+        assertThat(check("/api/gateway/health", "user:alice").allowed()).isTrue();
+
+        assertThat(check("/api/assets/1", "user:alice").allowed()).isFalse();
+        assertThat(check("/api/assets/1", "user:bob").allowed()).isTrue();
+    }
+
+    @Test
+    void storeConsumesNothingWhenAnyBucketIsEmpty() {
+        RateLimit one = new RateLimit(1, SLOW_REFILL);
+        RateLimit five = new RateLimit(5, SLOW_REFILL);
+        assertThat(store.consume(Map.of("empty", one)).allowed()).isTrue();
+
+        Map<String, RateLimit> both = new LinkedHashMap<>();
+        both.put("full", five);
+        both.put("empty", one);
+        assertThat(store.consume(both).allowed()).isFalse();
+
+        assertThat(store.consume(Map.of("full", five)).remaining()).isEqualTo(4);
+    }
+
+    @Test
+    void decisionsAreCountedPerRuleAndResult() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        rateLimiter.bindTo(registry);
+
+        check("/api/auth/login", "ip:1");
+        check("/api/assets", "ip:1");
+        check("/api/assets", "ip:1");
+        check("/api/assets", "ip:1");
+
+        assertThat(count(registry, "auth-token", "allowed")).isEqualTo(1);
+        assertThat(count(registry, "auth-token", "rejected")).isZero();
+        assertThat(count(registry, "default", "allowed")).isEqualTo(2);
+        assertThat(count(registry, "default", "rejected")).isEqualTo(1);
+    }
+
+    private static double count(SimpleMeterRegistry registry, String rule, String result) {
+        return registry.get("gateway.rate.limit.requests").tag("rule", rule).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private RateLimitDecision check(String path, String clientId) {
+        return rateLimiter.check(path, clientId).block();
+    }
+}
@@ -1,7 +1,10 @@
 package com.asset.assets;
 
+import com.asset.assets.security.PrincipalHeaderAuthenticationFilter;
+import com.asset.common.security.PrincipalHeaderCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -9,6 +12,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
@@ -16,6 +22,9 @@ import org.springframework.security.web.SecurityFilterChain;
 public class AssetSecurityConfig {
     
     private static final Logger log = LoggerFactory.getLogger(AssetSecurityConfig.class);
+
+    @Value("${gateway.principal.secret:}")
+    private String principalSecret;
     
     public AssetSecurityConfig() {
         log.info("🚀🚀🚀🚀🚀 ASSET SECURITY CONFIG LOADED! 🚀🚀🚀🚀🚀");
@@ -30,16 +39,24 @@ public class AssetSecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers(
                     "/api/assets/health",
+                    "/api/assets/health/**",
                     "/api/assets/test", 
                     "/api/assets/db-check",
                     "/swagger-ui/**",
                     "/swagger-ui.html",
                     "/api-docs/**",
-                    "/v3/api-docs/**"
+                    "/v3/api-docs/**",
+                    // Проверки и сбор метрик Prometheus без токена
+                    "/actuator/health/**",
+                    "/actuator/prometheus"
                 ).permitAll()
                 .anyRequest().authenticated()
             )
+            // Пользователь, уже проверенный на api-gateway, принимается по подписанному заголовку
+            .addFilterBefore(new PrincipalHeaderAuthenticationFilter(principalHeaderCodec()),
+                    BearerTokenAuthenticationFilter.class)
             .oauth2ResourceServer(oauth2 -> oauth2
+                .bearerTokenResolver(bearerTokenResolver())
                 .jwt(jwt -> {
                     log.info("🔐 Configuring JWT decoder");
                     jwt.decoder(jwtDecoder());
@@ -52,6 +69,19 @@ public class AssetSecurityConfig {
         return http.build();
     }
     
+    @Bean
+    public PrincipalHeaderCodec principalHeaderCodec() {
+        return new PrincipalHeaderCodec(principalSecret);
+    }
+
+    private BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver delegate = new DefaultBearerTokenResolver();
+        // Если запрос уже аутентифицирован заголовком gateway, JWT второй раз не разбираем
+        return request -> request.getAttribute(PrincipalHeaderAuthenticationFilter.AUTHENTICATED_ATTRIBUTE) != null
+                ? null
+                : delegate.resolve(request);
+    }
+
     @Bean
     public JwtDecoder jwtDecoder() {
         log.info("🔑 Creating JWT Decoder for Keycloak");
@@ -0,0 +1,60 @@
+package com.asset.assets.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caffeine-кэши чтения активов (см. AssetReadCache). Кэши обёрнуты в
+ * {@link TransactionAwareCacheDecorator}: сброс из транзакции записи выполняется
+ * после её коммита, поэтому откат не оставляет в кэше незакоммиченных данных.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Отдельные активы по id
+    public static final String ASSETS = "assets";
+    // Активы владельца (GET /my)
+    public static final String ASSETS_BY_OWNER = "assetsByOwner";
+
+    @Value("${asset.cache.assets.max-size:10000}")
+    private long assetsMaxSize;
+
+    @Value("${asset.cache.assets.ttl-seconds:600}")
+    private long assetsTtlSeconds;
+
+    @Value("${asset.cache.by-owner.max-size:1000}")
+    private long byOwnerMaxSize;
+
+    @Value("${asset.cache.by-owner.ttl-seconds:120}")
+    private long byOwnerTtlSeconds;
+
+    @Bean
+    public CacheManager cacheManager() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                buildCache(ASSETS, assetsMaxSize, assetsTtlSeconds),
+                buildCache(ASSETS_BY_OWNER, byOwnerMaxSize, byOwnerTtlSeconds)
+        ));
+        return cacheManager;
+    }
+
+    private static Cache buildCache(String name, long maxSize, long ttlSeconds) {
+        return new TransactionAwareCacheDecorator(new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.asset.assets.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Трассировка asset-service: span на каждый вызов метода репозитория
+ * (то есть на JPA-запрос). Экспорт span'ов в файл - общий, из модуля common.
+ * Входящий traceparent от api-gateway подхватывается автоматически.
+ */
+@Configuration
+public class TracingConfig {
+
+    public static final String REPOSITORY_OBSERVATION = "asset.repository.query";
+
+    /**
+     * Добавляет перехватчик в прокси Spring Data репозиториев. Попадания в кэш
+     * AssetReadCache до репозитория не доходят, поэтому span'ы есть только у
+     * реальных обращений к базе.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<ObservationRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(repositoryInterceptor(
+                                    information.getRepositoryInterface().getSimpleName(), registry))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryInterceptor(String repository,
+                                                           ObjectProvider<ObservationRegistry> registry) {
+        return invocation -> {
+            String method = invocation.getMethod().getName();
+            Observation observation = Observation.createNotStarted(REPOSITORY_OBSERVATION,
+                            registry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                    .contextualName(repository + "." + method)
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method)
+                    .start();
+            try (Observation.Scope scope = observation.openScope()) {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+            }
+        };
+    }
+}
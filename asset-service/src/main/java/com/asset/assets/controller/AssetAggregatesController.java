@@ -0,0 +1,31 @@
+package com.asset.assets.controller;
+
+import com.asset.assets.service.AssetAggregates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/assets/aggregates")
+public class AssetAggregatesController {
+
+    @Autowired
+    private AssetAggregates assetAggregates;
+
+    // Готовые счётчики по категории, статусу и уровням CIA, без запроса к базе
+    @GetMapping
+    @PreAuthorize("hasAnyRole('admin', 'user')")
+    public ResponseEntity<?> aggregates() {
+        if (!assetAggregates.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Aggregates are being computed"));
+        }
+        return ResponseEntity.ok(assetAggregates.snapshot());
+    }
+}
@@ -1,24 +1,77 @@
 package com.asset.assets.controller;
 
+import com.asset.assets.dto.AssetBulkRequest;
+import com.asset.assets.dto.AssetCursor;
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.dto.AssetPage;
+import com.asset.assets.dto.AssetPatch;
+import com.asset.assets.dto.AssetSearchHit;
+import com.asset.assets.dto.AssetSearchResult;
+import com.asset.assets.dto.AssetSort;
+import com.asset.assets.dto.AssetView;
+import com.asset.assets.dto.ImportResult;
 import com.asset.assets.model.Asset;
 import com.asset.assets.repository.AssetRepository;
+import com.asset.assets.service.AssetExportService;
+import com.asset.assets.service.AssetImportService;
+import com.asset.assets.service.AssetReadCache;
+import com.asset.assets.service.AssetSearchIndex;
+import com.asset.assets.service.AssetUpdateService;
+import com.asset.assets.service.HealthMonitor;
+import com.asset.common.health.DependencyHealth;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/assets")
 public class AssetController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MAX_SEARCH_OFFSET = 1000;
+    private static final Map<String, Object> STATUS_UP = Map.of("status", "UP");
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private AssetRepository assetRepository;
 
+    @Autowired
+    private AssetExportService assetExportService;
+
+    @Autowired
+    private AssetImportService assetImportService;
+
+    @Autowired
+    private HealthMonitor healthMonitor;
+
+    @Autowired
+    private AssetSearchIndex assetSearchIndex;
+
+    @Autowired
+    private AssetUpdateService assetUpdateService;
+
+    @Autowired
+    private AssetReadCache assetReadCache;
+
     // Public endpoints для проверки
     @GetMapping("/test")
     public String test() {
@@ -27,49 +80,175 @@ public class AssetController {
 
     @GetMapping("/health")
     public ResponseEntity<?> health() {
-        return ResponseEntity.ok().body("""
-            {
-                "status": "UP",
-                "service": "asset-service",
-                "database": "PostgreSQL",
-                "security": "enabled"
-            }
-            """);
+        // Последний результат фоновой проверки, без запроса к базе
+        DependencyHealth database = healthMonitor.database();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", database.isUp() ? "UP" : "DEGRADED");
+        response.put("service", "asset-service");
+        response.put("database", "PostgreSQL");
+        response.put("databaseCheck", database.toMap());
+        response.put("security", "enabled");
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/health/live")
+    public ResponseEntity<?> liveness() {
+        return ResponseEntity.ok(STATUS_UP);
     }
 
+    @GetMapping("/health/ready")
+    public ResponseEntity<?> readiness() {
+        if (healthMonitor.isReady()) {
+            return ResponseEntity.ok(STATUS_UP);
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "status", "OUT_OF_SERVICE",
+                "database", healthMonitor.database().toMap()
+        ));
+    }
 
     @GetMapping("/db-check")
     public ResponseEntity<?> dbCheck() {
-        try {
-            long count = assetRepository.count();
+        DependencyHealth database = healthMonitor.database();
+        if (database.isUp()) {
             return ResponseEntity.ok().body("""
                 {
                     "message": "PostgreSQL connected successfully",
                     "assetCount": %d,
+                    "checkedAt": %d,
                     "url": "jdbc:postgresql://postgres-assets:5432/assets"
                 }
-                """.formatted(count));
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("""
-                {
-                    "error": "Database connection failed",
-                    "message": "%s"
-                }
-                """.formatted(e.getMessage()));
+                """.formatted(healthMonitor.assetCount(), database.checkedAt()));
         }
+        return ResponseEntity.status(500).body("""
+            {
+                "error": "Database connection failed",
+                "message": "%s",
+                "checkedAt": %d
+            }
+            """.formatted(database.error() != null ? database.error() : database.status(), database.checkedAt()));
     }
 
     // Protected endpoints (требуют аутентификацию)
     @GetMapping
     @PreAuthorize("hasAnyRole('admin', 'user')")
-    public List<Asset> getAllAssets() {
-        return assetRepository.findAll();
+    public ResponseEntity<?> getAllAssets(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "50") int size,
+                                          @RequestParam(required = false) String sort,
+                                          @RequestParam(required = false) String category,
+                                          @RequestParam(required = false) String status,
+                                          @RequestParam(required = false) String owner,
+                                          @RequestParam(required = false) String confidentiality,
+                                          @RequestParam(required = false) String integrity,
+                                          @RequestParam(required = false) String availability,
+                                          @RequestParam(required = false) String minConfidentiality,
+                                          @RequestParam(required = false) String minIntegrity,
+                                          @RequestParam(required = false) String minAvailability) {
+        AssetSort assetSort;
+        AssetCursor after;
+        AssetFilter filter;
+        try {
+            assetSort = AssetSort.fromParam(sort);
+            after = (cursor == null || cursor.isBlank()) ? null : AssetCursor.decode(cursor, assetSort);
+            filter = AssetFilter.parse(category, status, owner, confidentiality, integrity, availability,
+                    minConfidentiality, minIntegrity, minAvailability);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // Берём на один элемент больше, чтобы понять, есть ли следующая страница, без count(*)
+        List<Asset> rows = assetRepository.findPage(filter, assetSort, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<Asset> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore
+                ? AssetCursor.after(items.get(items.size() - 1), assetSort).encode()
+                : null;
+
+        return ResponseEntity.ok(new AssetPage(items, items.size(), hasMore, nextCursor));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('admin', 'user')")
+    public ResponseEntity<?> searchAssets(@RequestParam String q,
+                                          @RequestParam(defaultValue = "0") int offset,
+                                          @RequestParam(defaultValue = "20") int size,
+                                          @RequestParam(required = false) String category,
+                                          @RequestParam(required = false) String status,
+                                          @RequestParam(required = false) String owner,
+                                          @RequestParam(required = false) String confidentiality,
+                                          @RequestParam(required = false) String integrity,
+                                          @RequestParam(required = false) String availability,
+                                          @RequestParam(required = false) String minConfidentiality,
+                                          @RequestParam(required = false) String minIntegrity,
+                                          @RequestParam(required = false) String minAvailability) {
+        if (!assetSearchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Search index is being built"));
+        }
+
+        long start = System.nanoTime();
+        int from = Math.max(0, Math.min(offset, MAX_SEARCH_OFFSET));
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        AssetSearchIndex.Result result;
+        try {
+            AssetFilter filter = AssetFilter.parse(category, status, owner, confidentiality, integrity,
+                    availability, minConfidentiality, minIntegrity, minAvailability);
+            result = assetSearchIndex.search(q, filter, from, pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        // Индекс отдаёт id в порядке ранга, сами активы - одним запросом по первичному ключу
+        Map<Long, Asset> assets = assetRepository.findAllById(
+                        result.hits().stream().map(AssetSearchIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Asset::getId, Function.identity()));
+        List<AssetSearchHit> items = new ArrayList<>(result.hits().size());
+        for (AssetSearchIndex.Hit hit : result.hits()) {
+            Asset asset = assets.get(hit.id());
+            if (asset != null) {
+                items.add(new AssetSearchHit(asset, hit.score()));
+            }
+        }
+
+        return ResponseEntity.ok(new AssetSearchResult(items, result.total(), result.facets(),
+                (System.nanoTime() - start) / 1_000_000));
+    }
+
+    @GetMapping("/search/stats")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<?> searchStats() {
+        return ResponseEntity.ok(assetSearchIndex.stats());
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('admin', 'user')")
+    public void exportAssets(@RequestParam(defaultValue = "ndjson") String format,
+                             HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unsupported format: " + format);
+            return;
+        }
+
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=assets." + (csv ? "csv" : "ndjson"));
+
+        if (csv) {
+            assetExportService.writeCsv(response.getOutputStream());
+        } else {
+            assetExportService.writeNdjson(response.getOutputStream());
+        }
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('admin', 'user')")
-    public ResponseEntity<Asset> getAsset(@PathVariable Long id) {
-        return assetRepository.findById(id)
+    public ResponseEntity<AssetView> getAsset(@PathVariable Long id) {
+        return assetReadCache.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -85,11 +264,60 @@ public class AssetController {
         return assetRepository.save(asset);
     }
 
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<?> patchAsset(@PathVariable Long id, @RequestBody AssetPatch patch) {
+        try {
+            return assetUpdateService.patch(id, patch)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Клиент перечитывает актив (GET /{id}) и повторяет PATCH с новой версией
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Asset " + id + " was modified by another request"));
+        }
+    }
+
+    @PostMapping("/bulk/status")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<?> transitionStatus(@RequestBody AssetBulkRequest request) {
+        try {
+            return ResponseEntity.ok(assetUpdateService.transitionStatus(request.ids(), request.status()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/bulk/review")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<?> markReviewed(@RequestBody AssetBulkRequest request) {
+        try {
+            return ResponseEntity.ok(assetUpdateService.markReviewed(request.ids()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON_VALUE})
+    @PreAuthorize("hasRole('admin')")
+    public ImportResult importAssets(HttpServletRequest request,
+                                     @AuthenticationPrincipal Jwt jwt) throws IOException {
+        String username = (jwt != null) ?
+                jwt.getClaimAsString("preferred_username") : "system";
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith(NDJSON_VALUE)) {
+            return assetImportService.importNdjson(request.getInputStream(), username);
+        }
+        return assetImportService.importJsonArray(request.getInputStream(), username);
+    }
+
     @GetMapping("/my")
     @PreAuthorize("hasAnyRole('admin', 'user')")
-    public List<Asset> getMyAssets(@AuthenticationPrincipal Jwt jwt) {
+    public List<AssetView> getMyAssets(@AuthenticationPrincipal Jwt jwt) {
         String username = (jwt != null) ?
                 jwt.getClaimAsString("preferred_username") : "system";
-        return assetRepository.findByOwner(username);
+        return assetReadCache.findByOwner(username);
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.asset.assets.dto;
+
+import com.asset.assets.model.AssetStatus;
+
+import java.util.List;
+
+// status нужен только для перехода статуса, для отметки о проверке не используется
+public record AssetBulkRequest(
+        List<Long> ids,
+        AssetStatus status
+) {
+}
@@ -0,0 +1,9 @@
+package com.asset.assets.dto;
+
+public record AssetBulkResult(
+        // Уникальных id в запросе
+        int requested,
+        // Изменено строк (без отсутствующих и уже находящихся в целевом статусе)
+        int updated
+) {
+}
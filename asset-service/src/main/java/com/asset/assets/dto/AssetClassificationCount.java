@@ -0,0 +1,16 @@
+package com.asset.assets.dto;
+
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+
+// Строка GROUP BY по полям классификации
+public record AssetClassificationCount(
+        AssetCategory category,
+        AssetStatus status,
+        CiaLevel confidentiality,
+        CiaLevel integrity,
+        CiaLevel availability,
+        long count
+) {
+}
@@ -0,0 +1,56 @@
+package com.asset.assets.dto;
+
+import com.asset.assets.model.Asset;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция keyset-пагинации: последний отданный клиенту элемент страницы.
+ * Клиенту уходит непрозрачный base64url-токен, сортировка зашита в него,
+ * чтобы курсор нельзя было применить к другому порядку выдачи.
+ */
+public record AssetCursor(AssetSort sort, Long id, LocalDateTime updatedAt) {
+
+    private static final char SEPARATOR = '|';
+
+    public AssetCursor {
+        // Колонка updated_at NOT NULL (V5), без значения курсор не декодировался бы обратно
+        if (sort == AssetSort.UPDATED_AT && updatedAt == null) {
+            throw new IllegalArgumentException("UPDATED_AT cursor requires updatedAt");
+        }
+    }
+
+    public static AssetCursor after(Asset asset, AssetSort sort) {
+        return new AssetCursor(sort, asset.getId(),
+                sort == AssetSort.UPDATED_AT ? asset.getUpdatedAt() : null);
+    }
+
+    public String encode() {
+        String raw = sort == AssetSort.UPDATED_AT
+                ? sort.name() + SEPARATOR + id + SEPARATOR + updatedAt
+                : sort.name() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AssetCursor decode(String token, AssetSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            AssetSort sort = AssetSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Cursor does not match sort order");
+            }
+            Long id = Long.valueOf(parts[1]);
+            if (sort == AssetSort.UPDATED_AT) {
+                return new AssetCursor(sort, id, LocalDateTime.parse(parts[2]));
+            }
+            return new AssetCursor(sort, id, null);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.asset.assets.dto;
+
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+
+/**
+ * Фильтры списка и поиска: точное совпадение по полям и нижняя граница
+ * уровня CIA (min*: "не ниже HIGH").
+ */
+public record AssetFilter(
+        AssetCategory category,
+        AssetStatus status,
+        String owner,
+        CiaLevel confidentiality,
+        CiaLevel integrity,
+        CiaLevel availability,
+        CiaLevel minConfidentiality,
+        CiaLevel minIntegrity,
+        CiaLevel minAvailability
+) {
+
+    public static final AssetFilter NONE = new AssetFilter(null, null, null, null, null, null, null, null, null);
+
+    /**
+     * Фильтр из параметров запроса; неизвестное значение - IllegalArgumentException.
+     */
+    public static AssetFilter parse(String category, String status, String owner,
+                                    String confidentiality, String integrity, String availability,
+                                    String minConfidentiality, String minIntegrity, String minAvailability) {
+        return new AssetFilter(
+                AssetCategory.fromValue(category),
+                AssetStatus.fromValue(status),
+                owner == null || owner.isBlank() ? null : owner,
+                CiaLevel.fromValue(confidentiality),
+                CiaLevel.fromValue(integrity),
+                CiaLevel.fromValue(availability),
+                CiaLevel.fromValue(minConfidentiality),
+                CiaLevel.fromValue(minIntegrity),
+                CiaLevel.fromValue(minAvailability));
+    }
+}
@@ -0,0 +1,13 @@
+package com.asset.assets.dto;
+
+import com.asset.assets.model.Asset;
+
+import java.util.List;
+
+public record AssetPage(
+        List<Asset> items,
+        int size,
+        boolean hasMore,
+        String nextCursor
+) {
+}
@@ -0,0 +1,53 @@
+package com.asset.assets.dto;
+
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Частичное обновление актива: null - поле не меняется. version - версия,
+ * которую клиент видел при чтении; если строка с тех пор изменилась, PATCH отклоняется.
+ * Владелец через PATCH не меняется.
+ */
+public record AssetPatch(
+        Long version,
+        String name,
+        String description,
+        AssetCategory category,
+        AssetStatus status,
+        CiaLevel confidentiality,
+        CiaLevel integrity,
+        CiaLevel availability,
+        LocalDateTime lastReview
+) {
+
+    public void applyTo(Asset asset) {
+        if (name != null) {
+            asset.setName(name);
+        }
+        if (description != null) {
+            asset.setDescription(description);
+        }
+        if (category != null) {
+            asset.setCategory(category);
+        }
+        if (status != null) {
+            asset.setStatus(status);
+        }
+        if (confidentiality != null) {
+            asset.setConfidentiality(confidentiality);
+        }
+        if (integrity != null) {
+            asset.setIntegrity(integrity);
+        }
+        if (availability != null) {
+            asset.setAvailability(availability);
+        }
+        if (lastReview != null) {
+            asset.setLastReview(lastReview);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.asset.assets.dto;
+
+import com.asset.assets.model.Asset;
+
+public record AssetSearchHit(
+        Asset asset,
+        double score
+) {
+}
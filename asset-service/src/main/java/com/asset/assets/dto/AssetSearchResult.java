@@ -0,0 +1,13 @@
+package com.asset.assets.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record AssetSearchResult(
+        List<AssetSearchHit> items,
+        int total,
+        // Поле -> значение -> число найденных активов (по всем совпадениям, не только по странице)
+        Map<String, Map<String, Integer>> facets,
+        long tookMs
+) {
+}
@@ -0,0 +1,18 @@
+package com.asset.assets.dto;
+
+public enum AssetSort {
+    // По возрастанию id - стабильный порядок для полного обхода реестра
+    ID,
+    // Сначала последние изменения (updatedAt desc, id desc) - для дашбордов
+    UPDATED_AT;
+
+    public static AssetSort fromParam(String value) {
+        if (value == null || value.isBlank() || "id".equalsIgnoreCase(value)) {
+            return ID;
+        }
+        if ("updatedAt".equalsIgnoreCase(value) || "updated_at".equalsIgnoreCase(value)) {
+            return UPDATED_AT;
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value);
+    }
+}
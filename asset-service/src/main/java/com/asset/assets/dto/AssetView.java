@@ -0,0 +1,36 @@
+package com.asset.assets.dto;
+
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Неизменяемая копия актива для кэша чтения: в JSON совпадает с {@link Asset},
+ * но не связана с persistence context и не меняется вызывающим кодом.
+ */
+public record AssetView(
+        Long id,
+        String name,
+        String description,
+        AssetCategory category,
+        String owner,
+        AssetStatus status,
+        CiaLevel confidentiality,
+        CiaLevel integrity,
+        CiaLevel availability,
+        LocalDateTime lastReview,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+
+    public static AssetView of(Asset asset) {
+        return new AssetView(asset.getId(), asset.getName(), asset.getDescription(), asset.getCategory(),
+                asset.getOwner(), asset.getStatus(), asset.getConfidentiality(), asset.getIntegrity(),
+                asset.getAvailability(), asset.getLastReview(), asset.getCreatedAt(), asset.getUpdatedAt(),
+                asset.getVersion());
+    }
+}
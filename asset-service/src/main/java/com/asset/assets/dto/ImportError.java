@@ -0,0 +1,4 @@
+package com.asset.assets.dto;
+
+public record ImportError(int row, String message) {
+}
@@ -0,0 +1,12 @@
+package com.asset.assets.dto;
+
+import java.util.List;
+
+public record ImportResult(
+        int received,
+        int imported,
+        int failed,
+        List<ImportError> errors,
+        boolean errorsTruncated
+) {
+}
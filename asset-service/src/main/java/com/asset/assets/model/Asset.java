@@ -1,28 +1,46 @@
 package com.asset.assets.model;
 
+import com.asset.assets.service.AssetChangeListener;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+// Схема и индексы - миграции Flyway в resources/db/migration
 @Table(name = "assets")
+@EntityListeners(AssetChangeListener.class)
 public class Asset {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Пул из sequence вместо IDENTITY: Hibernate может батчить INSERT (hibernate.jdbc.batch_size)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assets_seq")
+    @SequenceGenerator(name = "assets_seq", sequenceName = "assets_seq", allocationSize = 50)
     private Long id;
 
     private String name;
     private String description;
-    private String category;
+    // Категория, статус и уровни CIA - SMALLINT-коды через конвертеры (*Converter)
+    private AssetCategory category;
     private String owner;
-    private String status = "ACTIVE";
+    private AssetStatus status = AssetStatus.ACTIVE;
 
-    private String confidentiality;
-    private String integrity;
-    private String availability;
+    private CiaLevel confidentiality;
+    private CiaLevel integrity;
+    private CiaLevel availability;
 
     private LocalDateTime lastReview;
-    private LocalDateTime createdAt = LocalDateTime.now();
-    private LocalDateTime updatedAt = LocalDateTime.now();
+    private LocalDateTime createdAt;
+    // NOT NULL с V5: входит в курсор сортировки UPDATED_AT
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Оптимистическая блокировка: UPDATE ... WHERE version = ?, клиент присылает версию в PATCH
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Состояние при загрузке из базы - "до" для AssetChangedEvent
+    @Transient
+    private AssetSnapshot loadedState;
 
     // Геттеры и сеттеры
     public Long getId() { return id; }
@@ -34,23 +52,23 @@ public class Asset {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
-    public String getCategory() { return category; }
-    public void setCategory(String category) { this.category = category; }
+    public AssetCategory getCategory() { return category; }
+    public void setCategory(AssetCategory category) { this.category = category; }
 
     public String getOwner() { return owner; }
     public void setOwner(String owner) { this.owner = owner; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public AssetStatus getStatus() { return status; }
+    public void setStatus(AssetStatus status) { this.status = status; }
 
-    public String getConfidentiality() { return confidentiality; }
-    public void setConfidentiality(String confidentiality) { this.confidentiality = confidentiality; }
+    public CiaLevel getConfidentiality() { return confidentiality; }
+    public void setConfidentiality(CiaLevel confidentiality) { this.confidentiality = confidentiality; }
 
-    public String getIntegrity() { return integrity; }
-    public void setIntegrity(String integrity) { this.integrity = integrity; }
+    public CiaLevel getIntegrity() { return integrity; }
+    public void setIntegrity(CiaLevel integrity) { this.integrity = integrity; }
 
-    public String getAvailability() { return availability; }
-    public void setAvailability(String availability) { this.availability = availability; }
+    public CiaLevel getAvailability() { return availability; }
+    public void setAvailability(CiaLevel availability) { this.availability = availability; }
 
     public LocalDateTime getLastReview() { return lastReview; }
     public void setLastReview(LocalDateTime lastReview) { this.lastReview = lastReview; }
@@ -60,4 +78,26 @@ public class Asset {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    // Явно заданные даты (импорт, тестовые данные) при вставке сохраняются
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public AssetSnapshot loadedState() { return loadedState; }
+    public void loadedState(AssetSnapshot loadedState) { this.loadedState = loadedState; }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.asset.assets.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public enum AssetCategory implements CodedEnum {
+    SERVER(1),
+    WORKSTATION(2),
+    NETWORK(3),
+    SOFTWARE(4),
+    DATA(5),
+    // Сюда миграция переводит категории, которых нет в списке
+    OTHER(99);
+
+    private final short code;
+
+    AssetCategory(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short code() {
+        return code;
+    }
+
+    @JsonCreator
+    public static AssetCategory fromValue(String value) {
+        return CodedEnum.parse(AssetCategory.class, value);
+    }
+}
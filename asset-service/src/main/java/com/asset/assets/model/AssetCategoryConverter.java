@@ -0,0 +1,11 @@
+package com.asset.assets.model;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class AssetCategoryConverter extends CodedEnumConverter<AssetCategory> {
+
+    public AssetCategoryConverter() {
+        super(AssetCategory.class);
+    }
+}
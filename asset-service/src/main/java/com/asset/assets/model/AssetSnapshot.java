@@ -0,0 +1,30 @@
+package com.asset.assets.model;
+
+/**
+ * Неизменяемая копия индексируемых полей актива и его версии на момент загрузки или записи.
+ */
+public record AssetSnapshot(
+        Long id,
+        String name,
+        String description,
+        AssetCategory category,
+        String owner,
+        AssetStatus status,
+        CiaLevel confidentiality,
+        CiaLevel integrity,
+        CiaLevel availability,
+        Long version
+) {
+
+    public static AssetSnapshot of(Asset asset) {
+        return new AssetSnapshot(asset.getId(), asset.getName(), asset.getDescription(), asset.getCategory(),
+                asset.getOwner(), asset.getStatus(), asset.getConfidentiality(), asset.getIntegrity(),
+                asset.getAvailability(), asset.getVersion());
+    }
+
+    // Состояние после bulk-UPDATE статуса: запрос увеличивает версию на 1
+    public AssetSnapshot withStatus(AssetStatus status) {
+        return new AssetSnapshot(id, name, description, category, owner, status, confidentiality, integrity,
+                availability, version != null ? version + 1 : null);
+    }
+}
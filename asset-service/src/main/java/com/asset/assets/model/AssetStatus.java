@@ -0,0 +1,26 @@
+package com.asset.assets.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public enum AssetStatus implements CodedEnum {
+    ACTIVE(1),
+    INACTIVE(2),
+    MAINTENANCE(3),
+    DECOMMISSIONED(4);
+
+    private final short code;
+
+    AssetStatus(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short code() {
+        return code;
+    }
+
+    @JsonCreator
+    public static AssetStatus fromValue(String value) {
+        return CodedEnum.parse(AssetStatus.class, value);
+    }
+}
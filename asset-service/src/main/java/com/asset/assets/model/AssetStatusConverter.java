@@ -0,0 +1,11 @@
+package com.asset.assets.model;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class AssetStatusConverter extends CodedEnumConverter<AssetStatus> {
+
+    public AssetStatusConverter() {
+        super(AssetStatus.class);
+    }
+}
@@ -0,0 +1,30 @@
+package com.asset.assets.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Уровень конфиденциальности, целостности или доступности. Код растёт
+ * вместе с уровнем, поэтому фильтр "не ниже HIGH" - это range-условие по индексу.
+ */
+public enum CiaLevel implements CodedEnum {
+    LOW(1),
+    MEDIUM(2),
+    HIGH(3),
+    CRITICAL(4);
+
+    private final short code;
+
+    CiaLevel(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short code() {
+        return code;
+    }
+
+    @JsonCreator
+    public static CiaLevel fromValue(String value) {
+        return CodedEnum.parse(CiaLevel.class, value);
+    }
+}
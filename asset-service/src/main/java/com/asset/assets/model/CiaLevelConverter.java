@@ -0,0 +1,11 @@
+package com.asset.assets.model;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class CiaLevelConverter extends CodedEnumConverter<CiaLevel> {
+
+    public CiaLevelConverter() {
+        super(CiaLevel.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.asset.assets.model;
+
+import java.util.Locale;
+
+/**
+ * Перечисление, которое хранится в базе как SMALLINT с явным кодом,
+ * а не по имени или ordinal: порядок констант можно менять без миграции.
+ */
+public interface CodedEnum {
+
+    short code();
+
+    static <E extends Enum<E> & CodedEnum> E fromCode(Class<E> type, short code) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.code() == code) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " code: " + code);
+    }
+
+    /**
+     * Имя константы без учёта регистра; пустая строка - null.
+     */
+    static <E extends Enum<E> & CodedEnum> E parse(Class<E> type, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported " + type.getSimpleName() + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.asset.assets.model;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Общая часть JPA-конвертеров {@link CodedEnum} в SMALLINT.
+ */
+public abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Short> {
+
+    private final Class<E> type;
+
+    protected CodedEnumConverter(Class<E> type) {
+        this.type = type;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E attribute) {
+        return attribute == null ? null : attribute.code();
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short dbData) {
+        return dbData == null ? null : CodedEnum.fromCode(type, dbData);
+    }
+}
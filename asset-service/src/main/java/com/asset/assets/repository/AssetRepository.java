@@ -1,12 +1,111 @@
 package com.asset.assets.repository;
 
+import com.asset.assets.config.CacheConfig;
+import com.asset.assets.dto.AssetClassificationCount;
 import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetSnapshot;
+import com.asset.assets.model.AssetStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AssetRepository extends JpaRepository<Asset, Long> {
+public interface AssetRepository extends JpaRepository<Asset, Long>, AssetRepositoryCustom {
+
+    // Кэшируется в AssetReadCache копиями (AssetView), сам репозиторий отдаёт сущности
     List<Asset> findByOwner(String owner);
-}
\ No newline at end of file
+
+    // Запись сбрасывает актив по id и все списки владельцев: владелец мог смениться.
+    // Кэш транзакционный (CacheConfig) - сброс выполняется после коммита, откат его отменяет
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ASSETS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.ASSETS_BY_OWNER, allEntries = true)
+    })
+    <S extends Asset> S save(S entity);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ASSETS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.ASSETS_BY_OWNER, allEntries = true)
+    })
+    <S extends Asset> S saveAndFlush(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.ASSETS, CacheConfig.ASSETS_BY_OWNER}, allEntries = true)
+    <S extends Asset> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.ASSETS, CacheConfig.ASSETS_BY_OWNER}, allEntries = true)
+    <S extends Asset> List<S> saveAllAndFlush(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.ASSETS, CacheConfig.ASSETS_BY_OWNER}, allEntries = true)
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.ASSETS, CacheConfig.ASSETS_BY_OWNER}, allEntries = true)
+    void delete(Asset entity);
+
+    // Для PATCH: управляемая сущность с актуальной версией строки
+    @Query("select a from Asset a where a.id = :id")
+    Optional<Asset> findCurrentById(@Param("id") Long id);
+
+    // Состояние "до" для активов, у которых bulk-переход действительно сменит статус
+    @Query("select new com.asset.assets.model.AssetSnapshot(a.id, a.name, a.description, a.category, a.owner, "
+            + "a.status, a.confidentiality, a.integrity, a.availability, a.version) from Asset a "
+            + "where a.id in :ids and (a.status is null or a.status <> :status)")
+    List<AssetSnapshot> findForStatusTransition(@Param("ids") Collection<Long> ids,
+                                                @Param("status") AssetStatus status);
+
+    // Bulk-обновления одним UPDATE: версия увеличивается, чтобы открытые у клиентов PATCH получили 409
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @CacheEvict(cacheNames = {CacheConfig.ASSETS, CacheConfig.ASSETS_BY_OWNER}, allEntries = true)
+    @Query("update Asset a set a.status = :status, a.updatedAt = :now, a.version = a.version + 1 "
+            + "where a.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") AssetStatus status,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @CacheEvict(cacheNames = {CacheConfig.ASSETS, CacheConfig.ASSETS_BY_OWNER}, allEntries = true)
+    @Query("update Asset a set a.lastReview = :now, a.updatedAt = :now, a.version = a.version + 1 "
+            + "where a.id in :ids")
+    int markReviewed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Серверный курсор для выгрузки; вызывать только внутри транзакции и закрывать Stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Asset a order by a.id")
+    Stream<Asset> streamAll();
+
+    // Первый запрос транзакции REPEATABLE READ фиксирует её снимок
+    @Query(value = "SELECT 1", nativeQuery = true)
+    Integer beginSnapshot();
+
+    // Состояние активов в снимке пересчёта агрегатов - для сверки с событиями, пришедшими во время него
+    @Query("select new com.asset.assets.model.AssetSnapshot(a.id, a.name, a.description, a.category, a.owner, "
+            + "a.status, a.confidentiality, a.integrity, a.availability, a.version) from Asset a "
+            + "where a.id in :ids")
+    List<AssetSnapshot> findSnapshots(@Param("ids") Collection<Long> ids);
+
+    // Число активов по каждой комбинации классификации - для пересчёта агрегатов
+    @Query("select new com.asset.assets.dto.AssetClassificationCount("
+            + "a.category, a.status, a.confidentiality, a.integrity, a.availability, count(a)) "
+            + "from Asset a group by a.category, a.status, a.confidentiality, a.integrity, a.availability")
+    List<AssetClassificationCount> countByClassification();
+}
@@ -0,0 +1,17 @@
+package com.asset.assets.repository;
+
+import com.asset.assets.dto.AssetCursor;
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.dto.AssetSort;
+import com.asset.assets.model.Asset;
+
+import java.util.List;
+
+public interface AssetRepositoryCustom {
+
+    /**
+     * Keyset-выборка: не более {@code limit} активов после {@code cursor}
+     * (или с начала, если курсор не задан) с учётом фильтров.
+     */
+    List<Asset> findPage(AssetFilter filter, AssetSort sort, AssetCursor cursor, int limit);
+}
@@ -0,0 +1,79 @@
+package com.asset.assets.repository;
+
+import com.asset.assets.dto.AssetCursor;
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.dto.AssetSort;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.CiaLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AssetRepositoryImpl implements AssetRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Asset> findPage(AssetFilter filter, AssetSort sort, AssetCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Asset> query = cb.createQuery(Asset.class);
+        Root<Asset> root = query.from(Asset.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        addEquals(cb, root, predicates, "category", filter.category());
+        addEquals(cb, root, predicates, "status", filter.status());
+        addEquals(cb, root, predicates, "owner", filter.owner());
+        addEquals(cb, root, predicates, "confidentiality", filter.confidentiality());
+        addEquals(cb, root, predicates, "integrity", filter.integrity());
+        addEquals(cb, root, predicates, "availability", filter.availability());
+        // Коды уровней растут вместе с уровнем: "не ниже" - range по SMALLINT
+        addAtLeast(cb, root, predicates, "confidentiality", filter.minConfidentiality());
+        addAtLeast(cb, root, predicates, "integrity", filter.minIntegrity());
+        addAtLeast(cb, root, predicates, "availability", filter.minAvailability());
+
+        if (sort == AssetSort.UPDATED_AT) {
+            if (cursor != null) {
+                // (updatedAt, id) < (cursor.updatedAt, cursor.id); отдельная граница
+                // updatedAt <= cursor.updatedAt даёт range по индексу, OR сам по себе его не даёт
+                predicates.add(cb.lessThanOrEqualTo(root.<LocalDateTime>get("updatedAt"), cursor.updatedAt()));
+                predicates.add(cb.or(
+                        cb.lessThan(root.<LocalDateTime>get("updatedAt"), cursor.updatedAt()),
+                        cb.lessThan(root.<Long>get("id"), cursor.id())));
+            }
+            query.orderBy(cb.desc(root.get("updatedAt")), cb.desc(root.get("id")));
+        } else {
+            if (cursor != null) {
+                predicates.add(cb.greaterThan(root.<Long>get("id"), cursor.id()));
+            }
+            query.orderBy(cb.asc(root.get("id")));
+        }
+
+        query.select(root).where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static void addEquals(CriteriaBuilder cb, Root<Asset> root, List<Predicate> predicates,
+                                  String attribute, Object value) {
+        if (value != null) {
+            predicates.add(cb.equal(root.get(attribute), value));
+        }
+    }
+
+    private static void addAtLeast(CriteriaBuilder cb, Root<Asset> root, List<Predicate> predicates,
+                                   String attribute, CiaLevel level) {
+        if (level != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<CiaLevel>get(attribute), level));
+        }
+    }
+}
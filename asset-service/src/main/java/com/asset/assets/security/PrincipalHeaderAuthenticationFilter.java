@@ -0,0 +1,82 @@
+package com.asset.assets.security;
+
+import com.asset.common.security.GatewayPrincipal;
+import com.asset.common.security.PrincipalHeaderCodec;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Аутентификация по подписанному заголовку от api-gateway. Если заголовок
+ * валиден, JWT повторно не проверяется: пользователь собирается в тот же
+ * {@link JwtAuthenticationToken}, что и при прямом вызове, поэтому
+ * контроллеры с {@code @AuthenticationPrincipal Jwt} работают без изменений.
+ *
+ * Невалидный заголовок игнорируется - дальше работает обычная проверка JWT.
+ */
+public class PrincipalHeaderAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String AUTHENTICATED_ATTRIBUTE = PrincipalHeaderAuthenticationFilter.class.getName() + ".AUTHENTICATED";
+
+    private static final Logger log = LoggerFactory.getLogger(PrincipalHeaderAuthenticationFilter.class);
+
+    private final PrincipalHeaderCodec codec;
+
+    public PrincipalHeaderAuthenticationFilter(PrincipalHeaderCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(PrincipalHeaderCodec.HEADER);
+        if (header != null && codec.isEnabled()) {
+            GatewayPrincipal principal = codec.decode(header);
+            if (principal != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(toAuthentication(principal, request));
+                SecurityContextHolder.setContext(context);
+                request.setAttribute(AUTHENTICATED_ATTRIBUTE, Boolean.TRUE);
+            } else {
+                log.warn("Rejected invalid {} header", PrincipalHeaderCodec.HEADER);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static JwtAuthenticationToken toAuthentication(GatewayPrincipal principal, HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        String tokenValue = (authorization != null && authorization.startsWith("Bearer "))
+                ? authorization.substring(7)
+                : "gateway-principal";
+
+        Jwt jwt = Jwt.withTokenValue(tokenValue)
+                .header("alg", "none")
+                .subject(principal.sub())
+                .claim("preferred_username", principal.username())
+                .claim("realm_access", Map.of("roles", principal.roles()))
+                .expiresAt(Instant.ofEpochSecond(principal.exp()))
+                .build();
+
+        List<GrantedAuthority> authorities = principal.roles().stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+
+        return new JwtAuthenticationToken(jwt, authorities, principal.username());
+    }
+}
@@ -0,0 +1,205 @@
+package com.asset.assets.service;
+
+import com.asset.assets.dto.AssetClassificationCount;
+import com.asset.assets.model.AssetSnapshot;
+import com.asset.assets.repository.AssetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Счётчики активов по категории, статусу и уровням CIA для дашбордов.
+ * Пересчитываются GROUP BY-запросом при старте и периодически (сверка),
+ * между пересчётами меняются по {@link AssetChangedEvent} после коммита,
+ * поэтому чтение не зависит от размера таблицы.
+ *
+ * Пересчёт идёт в транзакции REPEATABLE READ. Буфер изменений ставится до
+ * фиксации снимка, поэтому событие, закоммиченное во время пересчёта, либо
+ * попадает в буфер, либо доставляется уже после подмены счётчиков. При подмене
+ * для каждого актива из буфера состояние в снимке заменяется состоянием из
+ * последнего по версии события - изменение, которое снимок уже видел, дважды
+ * не учитывается. Расхождение возможно, только если событие, закоммиченное до
+ * начала пересчёта, доставлено после его конца; его исправляет следующая сверка.
+ */
+@Component
+public class AssetAggregates {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetAggregates.class);
+
+    // Ключ для активов, у которых поле не заполнено
+    private static final String UNSET = "UNSET";
+    private static final String[] DIMENSIONS = {"category", "status", "confidentiality", "integrity", "availability"};
+    // Сколько id в одном IN при чтении состояния изменённых активов
+    private static final int SNAPSHOT_BATCH = 500;
+
+    private static final class Counters {
+        final LongAdder total = new LongAdder();
+        final List<Map<String, LongAdder>> dimensions = new ArrayList<>(DIMENSIONS.length);
+
+        Counters() {
+            for (int i = 0; i < DIMENSIONS.length; i++) {
+                dimensions.add(new ConcurrentHashMap<>());
+            }
+        }
+
+        void add(Enum<?>[] values, long delta) {
+            total.add(delta);
+            for (int i = 0; i < DIMENSIONS.length; i++) {
+                String key = values[i] != null ? values[i].name() : UNSET;
+                dimensions.get(i).computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            }
+        }
+    }
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    // События применяются под read lock (параллельно), подмена счётчиков - под write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Counters current = new Counters();
+    // Последнее событие по каждому активу, изменённому во время пересчёта
+    private volatile Map<Long, AssetChangedEvent> duringRebuild;
+    private volatile long rebuiltAt;
+    private volatile long rebuildMillis = -1;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${asset.aggregates.reconcile-interval-ms:3600000}")
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        // Буфер - до снимка: иначе событие, закоммиченное между ними, не попало бы ни в снимок, ни в буфер
+        Map<Long, AssetChangedEvent> changed = new ConcurrentHashMap<>();
+        duringRebuild = changed;
+        try {
+            // Изменения, закоммиченные до этого запроса, уже попадут в GROUP BY
+            assetRepository.beginSnapshot();
+
+            Counters fresh = new Counters();
+            for (AssetClassificationCount row : assetRepository.countByClassification()) {
+                fresh.add(new Enum<?>[]{row.category(), row.status(), row.confidentiality(),
+                        row.integrity(), row.availability()}, row.count());
+            }
+
+            // Состояние изменённых активов в том же снимке; под lock дочитываются только новые id
+            Map<Long, AssetSnapshot> inSnapshot = new HashMap<>();
+            Set<Long> loaded = new HashSet<>();
+            loadSnapshots(changed.keySet(), loaded, inSnapshot);
+
+            lock.writeLock().lock();
+            try {
+                loadSnapshots(changed.keySet(), loaded, inSnapshot);
+                changed.forEach((id, event) ->
+                        apply(fresh, classification(inSnapshot.get(id)), classification(event.after())));
+                current = fresh;
+            } finally {
+                duringRebuild = null;
+                lock.writeLock().unlock();
+            }
+            rebuiltAt = System.currentTimeMillis();
+            rebuildMillis = rebuiltAt - start;
+        } catch (RuntimeException e) {
+            duringRebuild = null;
+            // До следующей сверки остаются прежние счётчики
+            log.warn("Asset aggregates rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        Enum<?>[] before = classification(event.before());
+        Enum<?>[] after = classification(event.after());
+        if (before != null && after != null && Arrays.equals(before, after)) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            apply(current, before, after);
+            Map<Long, AssetChangedEvent> changed = duringRebuild;
+            if (changed != null) {
+                changed.merge(event.id(), event, AssetAggregates::later);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return rebuiltAt > 0;
+    }
+
+    public Map<String, Object> snapshot() {
+        Counters counters = current;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", counters.total.sum());
+        for (int i = 0; i < DIMENSIONS.length; i++) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            counters.dimensions.get(i).entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                    .filter(entry -> entry.getValue() > 0)
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(entry -> values.put(entry.getKey(), entry.getValue()));
+            result.put(DIMENSIONS[i], values);
+        }
+        result.put("rebuiltAt", rebuiltAt);
+        result.put("rebuildMillis", rebuildMillis);
+        return result;
+    }
+
+    private void loadSnapshots(Set<Long> ids, Set<Long> loaded, Map<Long, AssetSnapshot> target) {
+        List<Long> missing = ids.stream().filter(id -> !loaded.contains(id)).toList();
+        for (int from = 0; from < missing.size(); from += SNAPSHOT_BATCH) {
+            List<Long> batch = missing.subList(from, Math.min(from + SNAPSHOT_BATCH, missing.size()));
+            for (AssetSnapshot asset : assetRepository.findSnapshots(batch)) {
+                target.put(asset.id(), asset);
+            }
+            loaded.addAll(batch);
+        }
+    }
+
+    // События одного актива могут прийти не в порядке коммитов: побеждает большая версия,
+    // удаление - последнее состояние (id не переиспользуются)
+    private static AssetChangedEvent later(AssetChangedEvent known, AssetChangedEvent incoming) {
+        return order(incoming) >= order(known) ? incoming : known;
+    }
+
+    private static long order(AssetChangedEvent event) {
+        if (event.after() == null) {
+            return Long.MAX_VALUE;
+        }
+        return event.after().version() != null ? event.after().version() : Long.MIN_VALUE;
+    }
+
+    private static void apply(Counters counters, Enum<?>[] before, Enum<?>[] after) {
+        if (before != null) {
+            counters.add(before, -1);
+        }
+        if (after != null) {
+            counters.add(after, 1);
+        }
+    }
+
+    private static Enum<?>[] classification(AssetSnapshot asset) {
+        if (asset == null) {
+            return null;
+        }
+        return new Enum<?>[]{asset.category(), asset.status(), asset.confidentiality(),
+                asset.integrity(), asset.availability()};
+    }
+}
@@ -0,0 +1,53 @@
+package com.asset.assets.service;
+
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetSnapshot;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA-слушатель {@link Asset}: запоминает загруженное состояние и после
+ * каждой вставки, обновления и удаления публикует {@link AssetChangedEvent}
+ * с состоянием до и после. Подписчики получают событие через
+ * {@code @TransactionalEventListener}, то есть только после коммита.
+ *
+ * Bulk-операции JPQL (update/delete запросом) мимо слушателя проходят,
+ * события для них публикует вызывающий код (см. {@link AssetUpdateService}).
+ */
+@Component
+public class AssetChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    void onLoad(Asset asset) {
+        asset.loadedState(AssetSnapshot.of(asset));
+    }
+
+    @PostPersist
+    void onInsert(Asset asset) {
+        AssetSnapshot after = AssetSnapshot.of(asset);
+        eventPublisher.publishEvent(new AssetChangedEvent(null, after));
+        asset.loadedState(after);
+    }
+
+    @PostUpdate
+    void onUpdate(Asset asset) {
+        AssetSnapshot after = AssetSnapshot.of(asset);
+        eventPublisher.publishEvent(new AssetChangedEvent(asset.loadedState(), after));
+        asset.loadedState(after);
+    }
+
+    @PostRemove
+    void onRemove(Asset asset) {
+        AssetSnapshot before = asset.loadedState() != null ? asset.loadedState() : AssetSnapshot.of(asset);
+        eventPublisher.publishEvent(new AssetChangedEvent(before, null));
+        asset.loadedState(null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.asset.assets.service;
+
+import com.asset.assets.model.AssetSnapshot;
+
+/**
+ * Изменение актива: before == null - создание, after == null - удаление.
+ * Публикуется {@link AssetChangeListener} при записи в базу.
+ */
+public record AssetChangedEvent(AssetSnapshot before, AssetSnapshot after) {
+
+    public Long id() {
+        return after != null ? after.id() : before.id();
+    }
+}
@@ -0,0 +1,124 @@
+package com.asset.assets.service;
+
+import com.asset.assets.model.Asset;
+import com.asset.assets.repository.AssetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка реестра: строки читаются курсором JDBC и сразу пишутся
+ * в ответ, сущности отсоединяются от persistence context по мере записи,
+ * поэтому расход heap не зависит от размера таблицы.
+ */
+@Service
+public class AssetExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final String CSV_HEADER = "id,name,description,category,owner,status,"
+            + "confidentiality,integrity,availability,lastReview,createdAt,updatedAt";
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long writeNdjson(OutputStream target) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Asset.class);
+        OutputStream out = new BufferedOutputStream(target, BUFFER_SIZE);
+        long rows = 0;
+
+        try (Stream<Asset> assets = assetRepository.streamAll()) {
+            Iterator<Asset> it = assets.iterator();
+            while (it.hasNext()) {
+                Asset asset = it.next();
+                out.write(writer.writeValueAsBytes(asset));
+                out.write('\n');
+                entityManager.detach(asset);
+
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public long writeCsv(OutputStream target) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        out.write(CSV_HEADER);
+        out.write('\n');
+        long rows = 0;
+
+        try (Stream<Asset> assets = assetRepository.streamAll()) {
+            Iterator<Asset> it = assets.iterator();
+            while (it.hasNext()) {
+                Asset asset = it.next();
+                writeCsvRow(out, asset);
+                entityManager.detach(asset);
+
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer out, Asset asset) throws IOException {
+        out.write(String.valueOf(asset.getId()));
+        writeCsvField(out, asset.getName());
+        writeCsvField(out, asset.getDescription());
+        writeCsvField(out, asset.getCategory());
+        writeCsvField(out, asset.getOwner());
+        writeCsvField(out, asset.getStatus());
+        writeCsvField(out, asset.getConfidentiality());
+        writeCsvField(out, asset.getIntegrity());
+        writeCsvField(out, asset.getAvailability());
+        writeCsvField(out, asset.getLastReview());
+        writeCsvField(out, asset.getCreatedAt());
+        writeCsvField(out, asset.getUpdatedAt());
+        out.write('\n');
+    }
+
+    private static void writeCsvField(Writer out, Object value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
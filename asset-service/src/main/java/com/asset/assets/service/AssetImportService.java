@@ -0,0 +1,223 @@
+package com.asset.assets.service;
+
+import com.asset.assets.dto.ImportError;
+import com.asset.assets.dto.ImportResult;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.repository.AssetRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Массовый импорт активов. Вход читается потоково (JSON-массив или NDJSON),
+ * строки валидируются по одной и пишутся пачками в отдельных транзакциях.
+ * Если пачка не записалась целиком, она повторяется построчно, чтобы
+ * ошибка одной строки не отменяла остальные.
+ */
+@Service
+public class AssetImportService {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Value("${asset.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${asset.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImportResult importJsonArray(InputStream in, String owner) throws IOException {
+        ImportSession session = new ImportSession(owner);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                session.reject(0, "Expected a JSON array of assets");
+                return session.finish();
+            }
+            while (true) {
+                JsonToken token;
+                try {
+                    token = parser.nextToken();
+                } catch (JsonProcessingException e) {
+                    session.reject(session.received + 1, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                }
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    break;
+                }
+
+                int row = ++session.received;
+                JsonNode node;
+                try {
+                    node = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    // После синтаксической ошибки позиция парсера не восстанавливается
+                    session.reject(row, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                }
+                try {
+                    session.accept(row, objectMapper.treeToValue(node, Asset.class));
+                } catch (JsonProcessingException e) {
+                    session.reject(row, "Invalid asset: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return session.finish();
+    }
+
+    public ImportResult importNdjson(InputStream in, String owner) throws IOException {
+        ImportSession session = new ImportSession(owner);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int row = ++session.received;
+            try {
+                session.accept(row, objectMapper.readValue(line, Asset.class));
+            } catch (JsonProcessingException e) {
+                session.reject(row, "Invalid asset: " + e.getOriginalMessage());
+            }
+        }
+        return session.finish();
+    }
+
+    private static String validate(Asset asset) {
+        if (asset.getName() == null || asset.getName().isBlank()) {
+            return "name is required";
+        }
+        // Категория, статус и уровни CIA проверяются при разборе JSON (неизвестное значение - ошибка строки)
+        if (tooLong(asset.getName()) || tooLong(asset.getDescription())) {
+            return "text fields must not exceed " + MAX_TEXT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    private class ImportSession {
+
+        private final String owner;
+        private final LocalDateTime now = LocalDateTime.now();
+        private final List<Asset> batch = new ArrayList<>();
+        private final List<Integer> batchRows = new ArrayList<>();
+        private final List<ImportError> errors = new ArrayList<>();
+
+        private int received;
+        private int imported;
+        private int failed;
+        private boolean errorsTruncated;
+
+        ImportSession(String owner) {
+            this.owner = owner;
+        }
+
+        void accept(int row, Asset asset) {
+            String problem = validate(asset);
+            if (problem != null) {
+                reject(row, problem);
+                return;
+            }
+
+            asset.setId(null);
+            asset.setOwner(owner);
+            if (asset.getStatus() == null) {
+                asset.setStatus(AssetStatus.ACTIVE);
+            }
+            if (asset.getCreatedAt() == null) {
+                asset.setCreatedAt(now);
+            }
+            asset.setUpdatedAt(now);
+
+            batch.add(asset);
+            batchRows.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportError(row, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        ImportResult finish() {
+            flush();
+            return new ImportResult(received, imported, failed, errors, errorsTruncated);
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            try {
+                tx.executeWithoutResult(status -> {
+                    assetRepository.saveAllAndFlush(batch);
+                    entityManager.clear();
+                });
+                imported += batch.size();
+            } catch (DataAccessException | TransactionException e) {
+                // Пачка откатилась целиком - находим виноватые строки поштучно
+                for (int i = 0; i < batch.size(); i++) {
+                    Asset asset = batch.get(i);
+                    asset.setId(null);
+                    try {
+                        tx.executeWithoutResult(status -> {
+                            assetRepository.saveAndFlush(asset);
+                            entityManager.clear();
+                        });
+                        imported++;
+                    } catch (DataAccessException | TransactionException rowError) {
+                        reject(batchRows.get(i), "Database error: "
+                                + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                    }
+                }
+            } finally {
+                batch.clear();
+                batchRows.clear();
+            }
+        }
+    }
+}
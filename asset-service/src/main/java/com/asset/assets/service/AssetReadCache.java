@@ -0,0 +1,35 @@
+package com.asset.assets.service;
+
+import com.asset.assets.config.CacheConfig;
+import com.asset.assets.dto.AssetView;
+import com.asset.assets.repository.AssetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Кэшируемое чтение активов для GET /{id} и /my. В кэш попадают
+ * {@link AssetView}, а не сущности: общий экземпляр нельзя изменить,
+ * и он не тянет за собой persistence context транзакции, которая его загрузила.
+ *
+ * Записи сбрасывают кэш в {@link AssetRepository} после коммита (см. {@link CacheConfig}).
+ */
+@Service
+public class AssetReadCache {
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Cacheable(cacheNames = CacheConfig.ASSETS, key = "#p0", unless = "#result == null")
+    public Optional<AssetView> findById(Long id) {
+        return assetRepository.findById(id).map(AssetView::of);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ASSETS_BY_OWNER, key = "#p0")
+    public List<AssetView> findByOwner(String owner) {
+        return assetRepository.findByOwner(owner).stream().map(AssetView::of).toList();
+    }
+}
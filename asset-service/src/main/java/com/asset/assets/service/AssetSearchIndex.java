@@ -0,0 +1,537 @@
+package com.asset.assets.service;
+
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetSnapshot;
+import com.asset.assets.model.CiaLevel;
+import com.asset.assets.repository.AssetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Инвертированный индекс по name и description активов в памяти процесса.
+ * Строится при старте одним проходом курсора по таблице и дальше обновляется
+ * по {@link AssetChangedEvent} после коммита каждой записи.
+ *
+ * Документ получает порядковый номер (ord); при изменении или удалении
+ * старый ord помечается пустым, а записи в списках термов остаются до
+ * компактизации, которая запускается, когда пустых ord становится много.
+ * Ранжирование - BM25, совпадение в name весит больше, чем в description.
+ *
+ * Индекс локален для процесса и видит события только записей этого
+ * экземпляра. Записи других экземпляров и изменения мимо событий (JPQL
+ * update/delete, правки прямо в базе) подтягивает периодическая сверка с
+ * таблицей (asset.search.reindex-interval-ms): тот же проход курсора
+ * обновляет изменившиеся документы и удаляет пропавшие.
+ */
+@Component
+public class AssetSearchIndex {
+
+    public record Hit(long id, double score) {
+    }
+
+    public record Result(List<Hit> hits, int total, Map<String, Map<String, Integer>> facets) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AssetSearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int MIN_GARBAGE_FOR_COMPACTION = 10_000;
+
+    private static final String[] FACETS = {
+            "category", "status", "owner", "confidentiality", "integrity", "availability"
+    };
+
+    // Значения полей фасетов в порядке FACETS: имена констант enum и владелец из пула owners;
+    // hash - хэш проиндексированного снимка, сверка пропускает неизменившиеся документы
+    private record Doc(long id, int length, String[] facets, int hash) {
+    }
+
+    // Возрастающие ord документов с термом и взвешенная частота терма в каждом
+    private static final class Postings {
+        int[] ords = new int[4];
+        short[] freqs = new short[4];
+        int size;
+
+        void add(int ord, int freq) {
+            if (size == ords.length) {
+                ords = Arrays.copyOf(ords, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            ords[size] = ord;
+            freqs[size] = (short) Math.min(freq, Short.MAX_VALUE);
+            size++;
+        }
+    }
+
+    @Value("${asset.search.facet-size:20}")
+    private int facetSize;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<Long, Integer> ordById = new HashMap<>();
+    private final Map<String, String> owners = new HashMap<>();
+    private Doc[] docs = new Doc[1024];
+    private int nextOrd;
+    private long totalLength;
+    private long compactions;
+
+    // id, изменённые во время прохода курсора: их состояние из события новее прочитанного
+    private final Set<Long> changedDuringScan = ConcurrentHashMap.newKeySet();
+    private volatile boolean scanning;
+    private volatile boolean ready;
+    private volatile long buildMillis = -1;
+    private volatile long lastReindexAt;
+    private volatile long lastReindexChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuild() {
+        Thread builder = new Thread(this::build, "asset-search-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void build() {
+        long start = System.currentTimeMillis();
+        try {
+            scan();
+            ready = true;
+            buildMillis = System.currentTimeMillis() - start;
+            log.info("Search index built: {} assets in {} ms", size(), buildMillis);
+        } catch (RuntimeException e) {
+            log.error("Search index build failed", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${asset.search.reindex-interval-ms:900000}",
+            fixedDelayString = "${asset.search.reindex-interval-ms:900000}")
+    public void reindex() {
+        if (!ready) {
+            // Первичная загрузка ещё идёт (или не удалась - её не подменяем)
+            return;
+        }
+        try {
+            lastReindexChanges = scan();
+            lastReindexAt = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            log.warn("Search index reindex failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Проход курсора по таблице: добавляет и обновляет документы, удаляет
+     * те, которых в таблице нет. Документы, по которым во время прохода
+     * пришло событие, не трогает.
+     *
+     * @return сколько документов изменилось
+     */
+    private long scan() {
+        changedDuringScan.clear();
+        scanning = true;
+        try {
+            // id всех прочитанных строк; примитивный массив - 8 байт на актив
+            long[][] seen = {new long[1024]};
+            int[] count = {0};
+            long[] changes = {0};
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            tx.executeWithoutResult(status -> {
+                try (Stream<Asset> assets = assetRepository.streamAll()) {
+                    Iterator<Asset> it = assets.iterator();
+                    while (it.hasNext()) {
+                        Asset asset = it.next();
+                        if (upsert(AssetSnapshot.of(asset), true)) {
+                            changes[0]++;
+                        }
+                        entityManager.detach(asset);
+                        if (count[0] == seen[0].length) {
+                            seen[0] = Arrays.copyOf(seen[0], count[0] * 2);
+                        }
+                        seen[0][count[0]++] = asset.getId();
+                    }
+                }
+            });
+            long[] ids = Arrays.copyOf(seen[0], count[0]);
+            Arrays.sort(ids);
+            return changes[0] + removeMissing(ids);
+        } finally {
+            scanning = false;
+        }
+    }
+
+    private int removeMissing(long[] sortedIds) {
+        lock.writeLock().lock();
+        try {
+            List<Long> missing = new ArrayList<>();
+            for (Long id : ordById.keySet()) {
+                if (Arrays.binarySearch(sortedIds, id) < 0 && !changedDuringScan.contains(id)) {
+                    missing.add(id);
+                }
+            }
+            missing.forEach(this::removeLocked);
+            compactIfNeeded();
+            return missing.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (scanning) {
+            changedDuringScan.add(event.id());
+        }
+        if (event.after() == null) {
+            remove(event.id());
+        } else {
+            upsert(event.after(), false);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Документы, содержащие все слова запроса, с учётом фильтров. Фасеты
+     * считаются по всем найденным документам, hits - страница лучших по score.
+     */
+    public Result search(String query, AssetFilter filter, int offset, int limit) {
+        List<String> queryTerms = new ArrayList<>(tokenize(query).keySet());
+        if (queryTerms.isEmpty()) {
+            throw new IllegalArgumentException("Query must contain at least one word");
+        }
+        String[] required = {name(filter.category()), name(filter.status()), filter.owner(),
+                name(filter.confidentiality()), name(filter.integrity()), name(filter.availability())};
+        CiaLevel[] minimum = {null, null, null,
+                filter.minConfidentiality(), filter.minIntegrity(), filter.minAvailability()};
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    return new Result(List.of(), 0, Map.of());
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(p -> p.size));
+
+            int liveDocs = ordById.size();
+            double avgLength = liveDocs == 0 ? 1 : (double) totalLength / liveDocs;
+            double[] idf = new double[lists.size()];
+            for (int t = 0; t < lists.size(); t++) {
+                // df включает ещё не вычищенные записи удалённых документов
+                int df = lists.get(t).size;
+                idf[t] = Math.log(1 + (Math.max(0, liveDocs - df) + 0.5) / (df + 0.5));
+            }
+
+            List<Map<String, int[]>> facetCounts = new ArrayList<>(FACETS.length);
+            for (int f = 0; f < FACETS.length; f++) {
+                facetCounts.add(new HashMap<>());
+            }
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score)
+                    .thenComparing(Hit::id, Comparator.reverseOrder()));
+            int keep = offset + limit;
+            int total = 0;
+
+            // Обходим самый короткий список, в остальных ищем тот же ord
+            Postings smallest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            int[] freqs = new int[lists.size()];
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                int ord = smallest.ords[i];
+                Doc doc = docs[ord];
+                if (doc == null) {
+                    continue;
+                }
+                freqs[0] = smallest.freqs[i];
+                for (int t = 1; t < lists.size(); t++) {
+                    Postings other = lists.get(t);
+                    int pos = Arrays.binarySearch(other.ords, cursors[t], other.size, ord);
+                    if (pos < 0) {
+                        cursors[t] = -pos - 1;
+                        if (cursors[t] >= other.size) {
+                            break candidates;
+                        }
+                        continue candidates;
+                    }
+                    cursors[t] = pos;
+                    freqs[t] = other.freqs[pos];
+                }
+                if (!matches(doc, required, minimum)) {
+                    continue;
+                }
+
+                total++;
+                for (int f = 0; f < FACETS.length; f++) {
+                    String value = doc.facets()[f];
+                    if (value != null) {
+                        facetCounts.get(f).computeIfAbsent(value, v -> new int[1])[0]++;
+                    }
+                }
+
+                double norm = K1 * (1 - B + B * doc.length() / avgLength);
+                double score = 0;
+                for (int t = 0; t < lists.size(); t++) {
+                    score += idf[t] * freqs[t] * (K1 + 1) / (freqs[t] + norm);
+                }
+                if (top.size() < keep) {
+                    top.add(new Hit(doc.id(), score));
+                } else if (keep > 0 && score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Hit(doc.id(), score));
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id));
+            List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new Result(page, total, facets(facetCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("ready", ready);
+            result.put("documents", ordById.size());
+            result.put("terms", terms.size());
+            result.put("deletedSlots", nextOrd - ordById.size());
+            result.put("compactions", compactions);
+            result.put("buildMillis", buildMillis);
+            result.put("lastReindexAt", lastReindexAt);
+            result.put("lastReindexChanges", lastReindexChanges);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param fromScan запись из прохода курсора: пропускается, если по этому id
+     *                 уже пришло событие (проверка под тем же lock, что и запись)
+     *                 или документ не изменился
+     * @return изменился ли индекс
+     */
+    private boolean upsert(AssetSnapshot asset, boolean fromScan) {
+        // Без версии: отметка о проверке (markReviewed) меняет версию, но не документ
+        int hash = Objects.hash(asset.name(), asset.description(), asset.category(), asset.owner(), asset.status(),
+                asset.confidentiality(), asset.integrity(), asset.availability());
+        if (fromScan && isIndexed(asset.id(), hash)) {
+            return false;
+        }
+        Map<String, Integer> weighted = new HashMap<>();
+        tokenize(asset.name()).forEach((term, freq) -> weighted.merge(term, freq * NAME_WEIGHT, Integer::sum));
+        tokenize(asset.description()).forEach((term, freq) -> weighted.merge(term, freq, Integer::sum));
+        int length = weighted.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            if (fromScan && changedDuringScan.contains(asset.id())) {
+                return false;
+            }
+            Integer existing = ordById.get(asset.id());
+            if (fromScan && existing != null && docs[existing].hash() == hash) {
+                return false;
+            }
+            removeLocked(asset.id());
+            String[] facets = {name(asset.category()), name(asset.status()), intern(asset.owner()),
+                    name(asset.confidentiality()), name(asset.integrity()), name(asset.availability())};
+            int ord = nextOrd++;
+            if (ord == docs.length) {
+                docs = Arrays.copyOf(docs, docs.length * 2);
+            }
+            docs[ord] = new Doc(asset.id(), length, facets, hash);
+            ordById.put(asset.id(), ord);
+            totalLength += length;
+            weighted.forEach((term, freq) -> terms.computeIfAbsent(term, t -> new Postings()).add(ord, freq));
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isIndexed(long id, int hash) {
+        lock.readLock().lock();
+        try {
+            Integer ord = ordById.get(id);
+            return ord != null && docs[ord].hash() == hash;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Integer ord = ordById.remove(id);
+        if (ord != null) {
+            totalLength -= docs[ord].length();
+            docs[ord] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int garbage = nextOrd - ordById.size();
+        if (garbage > MIN_GARBAGE_FOR_COMPACTION && garbage > ordById.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Перенумеровывает живые документы подряд и выбрасывает из списков термов
+     * записи удалённых. Вызывается под write lock.
+     */
+    private void compact() {
+        int[] remap = new int[nextOrd];
+        int live = 0;
+        for (int ord = 0; ord < nextOrd; ord++) {
+            if (docs[ord] != null) {
+                remap[ord] = live;
+                docs[live] = docs[ord];
+                ordById.put(docs[live].id(), live);
+                live++;
+            } else {
+                remap[ord] = -1;
+            }
+        }
+        Arrays.fill(docs, live, nextOrd, null);
+        nextOrd = live;
+
+        Iterator<Postings> it = terms.values().iterator();
+        while (it.hasNext()) {
+            Postings postings = it.next();
+            int size = 0;
+            for (int i = 0; i < postings.size; i++) {
+                int ord = remap[postings.ords[i]];
+                if (ord >= 0) {
+                    postings.ords[size] = ord;
+                    postings.freqs[size] = postings.freqs[i];
+                    size++;
+                }
+            }
+            postings.size = size;
+            if (size == 0) {
+                it.remove();
+            }
+        }
+        compactions++;
+    }
+
+    private String intern(String owner) {
+        return owner == null ? null : owners.computeIfAbsent(owner, v -> v);
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private static boolean matches(Doc doc, String[] required, CiaLevel[] minimum) {
+        for (int f = 0; f < required.length; f++) {
+            String value = doc.facets()[f];
+            if (required[f] != null && !required[f].equals(value)) {
+                return false;
+            }
+            if (minimum[f] != null && (value == null || CiaLevel.valueOf(value).compareTo(minimum[f]) < 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<String, Map<String, Integer>> facets(List<Map<String, int[]>> counts) {
+        Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+        for (int f = 0; f < FACETS.length; f++) {
+            Map<String, Integer> facetValues = new LinkedHashMap<>();
+            counts.get(f).entrySet().stream()
+                    .sorted((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]))
+                    .limit(facetSize)
+                    .forEach(entry -> facetValues.put(entry.getKey(), entry.getValue()[0]));
+            result.put(FACETS[f], facetValues);
+        }
+        return result;
+    }
+
+    /**
+     * Слова в нижнем регистре (буквы и цифры, включая кириллицу), "ё" приводится к "е".
+     */
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> result = new HashMap<>();
+        if (text == null) {
+            return result;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = text.substring(start, i).toLowerCase().replace('ё', 'е');
+                result.merge(term, 1, Integer::sum);
+                start = -1;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package com.asset.assets.service;
+
+import com.asset.assets.dto.AssetBulkResult;
+import com.asset.assets.dto.AssetPatch;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetSnapshot;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.repository.AssetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Изменение существующих активов. PATCH опирается на {@code @Version}:
+ * версия из запроса сверяется с текущей, а UPDATE проверяет её ещё раз,
+ * так что параллельные правки не теряются и строки не блокируются.
+ * Bulk-операции выполняются одним UPDATE по списку id.
+ */
+@Service
+public class AssetUpdateService {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Value("${asset.bulk.max-ids:1000}")
+    private int maxBulkIds;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Пустой Optional - актива нет. Устаревшая версия -
+     * {@link ObjectOptimisticLockingFailureException}.
+     */
+    @Transactional
+    public Optional<Asset> patch(Long id, AssetPatch patch) {
+        if (patch.version() == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        if (patch.name() != null && patch.name().isBlank()) {
+            throw new IllegalArgumentException("name must not be blank");
+        }
+        if (tooLong(patch.name()) || tooLong(patch.description())) {
+            throw new IllegalArgumentException("text fields must not exceed " + MAX_TEXT_LENGTH + " characters");
+        }
+
+        Optional<Asset> found = assetRepository.findCurrentById(id);
+        if (found.isEmpty()) {
+            return found;
+        }
+        Asset asset = found.get();
+        if (!patch.version().equals(asset.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Asset.class, id);
+        }
+
+        patch.applyTo(asset);
+        // Flush внутри вызова: конфликт версии всплывает здесь, а не при коммите после выхода из метода
+        return Optional.of(assetRepository.saveAndFlush(asset));
+    }
+
+    @Transactional
+    public AssetBulkResult transitionStatus(List<Long> ids, AssetStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+        List<Long> unique = validateIds(ids);
+
+        // Строки, уже находящиеся в целевом статусе, не трогаем: ни версии, ни событий
+        List<AssetSnapshot> before = assetRepository.findForStatusTransition(unique, status);
+        if (before.isEmpty()) {
+            return new AssetBulkResult(unique.size(), 0);
+        }
+        int updated = assetRepository.updateStatus(before.stream().map(AssetSnapshot::id).toList(),
+                status, LocalDateTime.now());
+
+        // UPDATE запросом проходит мимо AssetChangeListener - индекс поиска и агрегаты
+        // получают события отсюда (после коммита, как и при обычной записи)
+        for (AssetSnapshot asset : before) {
+            eventPublisher.publishEvent(new AssetChangedEvent(asset, asset.withStatus(status)));
+        }
+        return new AssetBulkResult(unique.size(), updated);
+    }
+
+    // lastReview и updatedAt в индекс поиска и агрегаты не входят, события не нужны
+    @Transactional
+    public AssetBulkResult markReviewed(List<Long> ids) {
+        List<Long> unique = validateIds(ids);
+        int updated = assetRepository.markReviewed(unique, LocalDateTime.now());
+        return new AssetBulkResult(unique.size(), updated);
+    }
+
+    private List<Long> validateIds(List<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids are required");
+        }
+        List<Long> unique = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        if (unique.size() > maxBulkIds) {
+            throw new IllegalArgumentException("At most " + maxBulkIds + " ids per request");
+        }
+        return unique;
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+}
@@ -0,0 +1,71 @@
+package com.asset.assets.service;
+
+import com.asset.assets.repository.AssetRepository;
+import com.asset.common.health.DependencyHealth;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Фоновая проверка базы: health/db-check отдают последний результат
+ * вместо запроса к PostgreSQL на каждый probe.
+ */
+@Component
+public class HealthMonitor {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Value("${health.db-validation-timeout-seconds:2}")
+    private int validationTimeoutSeconds;
+
+    private volatile DependencyHealth database = DependencyHealth.unknown();
+    private volatile long assetCount = -1;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${health.check-interval-ms:15000}")
+    public void checkDatabase() {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.isValid(validationTimeoutSeconds)) {
+                database = DependencyHealth.up(elapsedMs(start));
+            } else {
+                database = DependencyHealth.down("Connection validation failed", elapsedMs(start));
+            }
+        } catch (Exception e) {
+            database = DependencyHealth.down(String.valueOf(e.getMessage()), elapsedMs(start));
+        }
+    }
+
+    // count(*) дорогой на большой таблице - обновляем реже основной проверки
+    @Scheduled(initialDelay = 0, fixedDelayString = "${health.count-interval-ms:300000}")
+    public void refreshAssetCount() {
+        try {
+            assetCount = assetRepository.count();
+        } catch (Exception e) {
+            // Состояние базы отражает checkDatabase, здесь оставляем прошлое значение
+        }
+    }
+
+    public DependencyHealth database() {
+        return database;
+    }
+
+    public long assetCount() {
+        return assetCount;
+    }
+
+    public boolean isReady() {
+        return database.isUp();
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,22 @@
+-- Исходная схема asset-service в том виде, в каком её создавал Hibernate
+-- (ddl-auto): классификация строками, только первичный ключ.
+-- Выполняется и на базах, созданных до Flyway (baseline-version 0): таблица
+-- уже есть, а последовательности assets_seq у IDENTITY-схемы не было.
+
+CREATE SEQUENCE IF NOT EXISTS assets_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS assets (
+    id              BIGINT       NOT NULL,
+    name            VARCHAR(255),
+    description     VARCHAR(255),
+    category        VARCHAR(255),
+    owner           VARCHAR(255),
+    status          VARCHAR(255),
+    confidentiality VARCHAR(255),
+    integrity       VARCHAR(255),
+    availability    VARCHAR(255),
+    last_review     TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,13 @@
+-- Индексы под keyset-пагинацию и фильтры списка активов: условие по полю
+-- и порядок по id (или updated_at, id) читаются из одного индекса.
+-- Проверка планов: AssetIndexUsageTest (EXPLAIN на H2).
+
+CREATE INDEX IF NOT EXISTS idx_assets_owner_id ON assets (owner, id);
+CREATE INDEX IF NOT EXISTS idx_assets_category_id ON assets (category, id);
+CREATE INDEX IF NOT EXISTS idx_assets_status_id ON assets (status, id);
+CREATE INDEX IF NOT EXISTS idx_assets_updated_at_id ON assets (updated_at, id);
+
+-- Фильтры "уровень не ниже" по CIA
+CREATE INDEX IF NOT EXISTS idx_assets_confidentiality_id ON assets (confidentiality, id);
+CREATE INDEX IF NOT EXISTS idx_assets_integrity_id ON assets (integrity, id);
+CREATE INDEX IF NOT EXISTS idx_assets_availability_id ON assets (availability, id);
@@ -0,0 +1,4 @@
+-- Версия строки для оптимистической блокировки (@Version в Asset).
+-- На PostgreSQL 11+ колонка с константным DEFAULT добавляется без перезаписи таблицы.
+
+ALTER TABLE assets ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
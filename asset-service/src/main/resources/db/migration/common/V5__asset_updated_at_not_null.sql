@@ -0,0 +1,6 @@
+-- updated_at - ключ keyset-пагинации (AssetCursor), NULL в нём курсор не переживает.
+-- Строки, записанные до @PrePersist в Asset, получают created_at или время миграции.
+
+UPDATE assets SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL;
+
+ALTER TABLE assets ALTER COLUMN updated_at SET NOT NULL;
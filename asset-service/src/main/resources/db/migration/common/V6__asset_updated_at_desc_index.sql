@@ -0,0 +1,7 @@
+-- Сортировка UPDATED_AT идёт по (updated_at DESC, id DESC). H2 не читает
+-- возрастающий индекс в обратную сторону и сортировал всю таблицу; PostgreSQL
+-- одинаково работает с обоими направлениями, поэтому индекс заменяется, а не дублируется.
+-- Проверка плана: AssetIndexUsageTest.
+
+CREATE INDEX IF NOT EXISTS idx_assets_updated_at_desc_id ON assets (updated_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_assets_updated_at_id;
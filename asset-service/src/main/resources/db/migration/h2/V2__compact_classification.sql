@@ -0,0 +1,8 @@
+-- H2 (локальный запуск, нагрузочный тест, бенчмарки): таблица создаётся
+-- пустой, поэтому достаточно сменить тип. Перенос данных - в postgresql/V2.
+
+ALTER TABLE assets ALTER COLUMN category SET DATA TYPE SMALLINT;
+ALTER TABLE assets ALTER COLUMN status SET DATA TYPE SMALLINT;
+ALTER TABLE assets ALTER COLUMN confidentiality SET DATA TYPE SMALLINT;
+ALTER TABLE assets ALTER COLUMN integrity SET DATA TYPE SMALLINT;
+ALTER TABLE assets ALTER COLUMN availability SET DATA TYPE SMALLINT;
@@ -0,0 +1,16 @@
+-- До перехода на пул id из sequence (allocationSize = 50 в Asset) Hibernate
+-- создавал assets.id как IDENTITY. Sequence создаётся, если её нет, и
+-- сдвигается за существующие id, иначе новые строки получат уже занятые id.
+--
+-- Запас в allocationSize: pooled-оптимизатор Hibernate выдаёт id из
+-- диапазона (nextval - 49 .. nextval).
+
+CREATE SEQUENCE IF NOT EXISTS assets_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('assets_seq', greatest(
+        (SELECT coalesce(max(id), 0) FROM assets) + 50,
+        (SELECT last_value FROM assets_seq)));
+
+-- Второй генератор id на колонке больше не нужен
+ALTER TABLE assets ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE assets ALTER COLUMN id DROP DEFAULT;
@@ -0,0 +1,55 @@
+-- Перевод category, status и уровней CIA из VARCHAR в SMALLINT-коды
+-- (AssetCategory, AssetStatus, CiaLevel).
+--
+-- Значения сравниваются без учёта регистра и пробелов. Строки с
+-- нераспознанными значениями сначала копируются в assets_classification_rejects:
+-- неизвестная категория становится OTHER, неизвестный статус или уровень - NULL.
+--
+-- Базы, где колонки уже переведены вручную прежним скриптом, пропускаются.
+
+DO $$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'assets' AND column_name = 'confidentiality')
+       = 'smallint' THEN
+        RETURN;
+    END IF;
+
+    CREATE TABLE IF NOT EXISTS assets_classification_rejects AS
+    SELECT id, category, status, confidentiality, integrity, availability, now() AS migrated_at
+    FROM assets
+    WHERE (category IS NOT NULL AND upper(trim(category)) NOT IN ('SERVER', 'WORKSTATION', 'NETWORK', 'SOFTWARE', 'DATA', 'OTHER'))
+       OR (status IS NOT NULL AND upper(trim(status)) NOT IN ('ACTIVE', 'INACTIVE', 'MAINTENANCE', 'DECOMMISSIONED'))
+       OR (confidentiality IS NOT NULL AND upper(trim(confidentiality)) NOT IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL'))
+       OR (integrity IS NOT NULL AND upper(trim(integrity)) NOT IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL'))
+       OR (availability IS NOT NULL AND upper(trim(availability)) NOT IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL'));
+
+    -- Все колонки в одном ALTER TABLE: таблица и её индексы перезаписываются один раз
+    ALTER TABLE assets
+        ALTER COLUMN category TYPE SMALLINT USING CASE
+            WHEN category IS NULL THEN NULL
+            WHEN upper(trim(category)) = 'SERVER' THEN 1
+            WHEN upper(trim(category)) = 'WORKSTATION' THEN 2
+            WHEN upper(trim(category)) = 'NETWORK' THEN 3
+            WHEN upper(trim(category)) = 'SOFTWARE' THEN 4
+            WHEN upper(trim(category)) = 'DATA' THEN 5
+            ELSE 99
+        END,
+        ALTER COLUMN status TYPE SMALLINT USING CASE upper(trim(status))
+            WHEN 'ACTIVE' THEN 1
+            WHEN 'INACTIVE' THEN 2
+            WHEN 'MAINTENANCE' THEN 3
+            WHEN 'DECOMMISSIONED' THEN 4
+        END,
+        ALTER COLUMN confidentiality TYPE SMALLINT USING CASE upper(trim(confidentiality))
+            WHEN 'LOW' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'HIGH' THEN 3 WHEN 'CRITICAL' THEN 4
+        END,
+        ALTER COLUMN integrity TYPE SMALLINT USING CASE upper(trim(integrity))
+            WHEN 'LOW' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'HIGH' THEN 3 WHEN 'CRITICAL' THEN 4
+        END,
+        ALTER COLUMN availability TYPE SMALLINT USING CASE upper(trim(availability))
+            WHEN 'LOW' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'HIGH' THEN 3 WHEN 'CRITICAL' THEN 4
+        END;
+END $$;
+
+ANALYZE assets;
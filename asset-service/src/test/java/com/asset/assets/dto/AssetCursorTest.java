@@ -0,0 +1,74 @@
+package com.asset.assets.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssetCursorTest {
+
+    @Test
+    void roundTripsIdCursor() {
+        AssetCursor cursor = new AssetCursor(AssetSort.ID, 42L, null);
+
+        assertThat(AssetCursor.decode(cursor.encode(), AssetSort.ID)).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsUpdatedAtCursorWithNanos() {
+        AssetCursor cursor = new AssetCursor(AssetSort.UPDATED_AT, 7L,
+                LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000));
+
+        assertThat(AssetCursor.decode(cursor.encode(), AssetSort.UPDATED_AT)).isEqualTo(cursor);
+    }
+
+    @Test
+    void updatedAtCursorRequiresTimestamp() {
+        assertThatThrownBy(() -> new AssetCursor(AssetSort.UPDATED_AT, 7L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new AssetCursor(AssetSort.UPDATED_AT, Long.MAX_VALUE, LocalDateTime.now()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSortOrder() {
+        String token = new AssetCursor(AssetSort.ID, 1L, null).encode();
+
+        assertThatThrownBy(() -> AssetCursor.decode(token, AssetSort.UPDATED_AT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThatThrownBy(() -> AssetCursor.decode("***", AssetSort.ID))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AssetCursor.decode(encode("ID|abc"), AssetSort.ID))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AssetCursor.decode(encode("UPDATED_AT|1"), AssetSort.UPDATED_AT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AssetCursor.decode(encode("UPDATED_AT|1|yesterday"), AssetSort.UPDATED_AT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parsesSortParameter() {
+        assertThat(AssetSort.fromParam(null)).isEqualTo(AssetSort.ID);
+        assertThat(AssetSort.fromParam("id")).isEqualTo(AssetSort.ID);
+        assertThat(AssetSort.fromParam("updatedAt")).isEqualTo(AssetSort.UPDATED_AT);
+        assertThat(AssetSort.fromParam("UPDATED_AT")).isEqualTo(AssetSort.UPDATED_AT);
+        assertThatThrownBy(() -> AssetSort.fromParam("name")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,64 @@
+package com.asset.assets.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodedEnumTest {
+
+    @Test
+    void codesMatchPostgresMigration() {
+        // Коды записаны в базе (postgresql/V2): смена кода требует миграции данных
+        assertThat(codes(AssetCategory.values())).containsExactly(
+                Map.entry("SERVER", (short) 1), Map.entry("WORKSTATION", (short) 2), Map.entry("NETWORK", (short) 3),
+                Map.entry("SOFTWARE", (short) 4), Map.entry("DATA", (short) 5), Map.entry("OTHER", (short) 99));
+        assertThat(codes(AssetStatus.values())).containsExactly(
+                Map.entry("ACTIVE", (short) 1), Map.entry("INACTIVE", (short) 2),
+                Map.entry("MAINTENANCE", (short) 3), Map.entry("DECOMMISSIONED", (short) 4));
+        assertThat(codes(CiaLevel.values())).containsExactly(
+                Map.entry("LOW", (short) 1), Map.entry("MEDIUM", (short) 2),
+                Map.entry("HIGH", (short) 3), Map.entry("CRITICAL", (short) 4));
+    }
+
+    @Test
+    void ciaCodesGrowWithLevel() {
+        // Фильтр "уровень не ниже" сравнивает коды в SQL
+        assertThat(Arrays.stream(CiaLevel.values()).map(CiaLevel::code).toList()).isSorted();
+    }
+
+    @Test
+    void converterRoundTripsAllConstantsAndNull() {
+        CiaLevelConverter converter = new CiaLevelConverter();
+        for (CiaLevel level : CiaLevel.values()) {
+            assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(level))).isSameAs(level);
+        }
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThatThrownBy(() -> new AssetStatusConverter().convertToEntityAttribute((short) 42))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("AssetStatus");
+    }
+
+    @Test
+    void parseIgnoresCaseAndRejectsUnknownNames() {
+        assertThat(AssetCategory.fromValue(" server ")).isEqualTo(AssetCategory.SERVER);
+        assertThat(CiaLevel.fromValue("")).isNull();
+        assertThat(AssetStatus.fromValue(null)).isNull();
+        assertThatThrownBy(() -> CiaLevel.fromValue("extreme"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported CiaLevel: extreme");
+    }
+
+    private static Map<String, Short> codes(CodedEnum[] constants) {
+        Map<String, Short> codes = new LinkedHashMap<>();
+        for (CodedEnum constant : constants) {
+            codes.put(((Enum<?>) constant).name(), constant.code());
+        }
+        return codes;
+    }
+}
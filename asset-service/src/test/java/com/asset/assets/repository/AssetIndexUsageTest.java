@@ -0,0 +1,129 @@
+package com.asset.assets.repository;
+
+import com.asset.assets.dto.AssetCursor;
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.dto.AssetSort;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Запросы {@link AssetRepositoryImpl#findPage} должны идти по индексам из
+ * db/migration/common (V3, V6). SQL берётся у Hibernate (StatementInspector), поэтому
+ * проверяется ровно то, что уходит в базу: фильтры, keyset-условие курсора и
+ * сортировка. Схему накатывает Flyway (H2), данные с редкими значениями
+ * фильтров откатываются вместе с тестовой транзакцией.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.asset.assets.repository.AssetIndexUsageTest$LastStatement")
+class AssetIndexUsageTest {
+
+    private static final int ROWS = 20_000;
+    private static final int OWNERS = 200;
+    private static final int PAGE = 20;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // index == null: подходит любой индекс, лишь бы не полный просмотр таблицы
+    private record Page(String name, AssetFilter filter, AssetSort sort, AssetCursor cursor, String index) {
+    }
+
+    // Все фильтры выбирают 0.5-2% строк, курсор - середина выдачи
+    private static final List<Page> PAGES = List.of(
+            new Page("owner", filter(null, null, "user-42", null), AssetSort.ID,
+                    new AssetCursor(AssetSort.ID, 100L, null), "idx_assets_owner_id"),
+            new Page("category", filter(AssetCategory.OTHER, null, null, null), AssetSort.ID, null,
+                    "idx_assets_category_id"),
+            new Page("status", filter(null, AssetStatus.DECOMMISSIONED, null, null), AssetSort.ID,
+                    new AssetCursor(AssetSort.ID, 100L, null), "idx_assets_status_id"),
+            new Page("minConfidentiality", filter(null, null, null, CiaLevel.HIGH), AssetSort.ID, null,
+                    "idx_assets_confidentiality_id"),
+            // Обе границы - range: H2 вправе взять упорядоченный PK вместо сортировки по индексу фильтра
+            new Page("minConfidentiality after cursor", filter(null, null, null, CiaLevel.HIGH), AssetSort.ID,
+                    new AssetCursor(AssetSort.ID, 100L, null), null),
+            new Page("updatedAt", AssetFilter.NONE, AssetSort.UPDATED_AT, null, "idx_assets_updated_at_desc_id"),
+            new Page("updatedAt after cursor", AssetFilter.NONE, AssetSort.UPDATED_AT,
+                    new AssetCursor(AssetSort.UPDATED_AT, 100L, NOW.minusDays(3)), "idx_assets_updated_at_desc_id"));
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Запоминает последний SQL сессии; Hibernate создаёт его сам по имени класса.
+     */
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            Timestamp updatedAt = Timestamp.valueOf(NOW.minusMinutes(random.nextInt(365 * 24 * 60)));
+            rows.add(new Object[]{
+                    (long) i,
+                    "Asset " + i,
+                    "Информационный актив " + i,
+                    (short) (random.nextInt(100) == 0 ? 99 : 1 + random.nextInt(5)),
+                    "user-" + random.nextInt(OWNERS),
+                    (short) (random.nextInt(100) == 0 ? 4 : 1 + random.nextInt(3)),
+                    (short) (random.nextInt(50) == 0 ? 3 + random.nextInt(2) : 1 + random.nextInt(2)),
+                    (short) (1 + random.nextInt(4)),
+                    (short) (1 + random.nextInt(4)),
+                    updatedAt,
+                    updatedAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO assets (id, name, description, category, owner, status, "
+                + "confidentiality, integrity, availability, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE assets");
+    }
+
+    @Test
+    void findPageQueriesUseIndexes() {
+        SoftAssertions softly = new SoftAssertions();
+        for (Page page : PAGES) {
+            assetRepository.findPage(page.filter(), page.sort(), page.cursor(), PAGE);
+            // План H2 строится при подготовке запроса и от значений параметров не зависит
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + LastStatement.sql, String.class));
+            softly.assertThat(plan.toLowerCase(Locale.ROOT))
+                    .as("plan of %s page", page.name())
+                    .doesNotContain("tablescan");
+            if (page.index() != null) {
+                softly.assertThat(plan.toLowerCase(Locale.ROOT))
+                        .as("plan of %s page", page.name())
+                        .contains(page.index());
+            }
+        }
+        softly.assertAll();
+    }
+
+    private static AssetFilter filter(AssetCategory category, AssetStatus status, String owner,
+                                      CiaLevel minConfidentiality) {
+        return new AssetFilter(category, status, owner, null, null, null, minConfidentiality, null, null);
+    }
+}
@@ -0,0 +1,47 @@
+package com.asset.assets.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssetMigrationTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2023, 5, 1, 10, 0);
+
+    @Test
+    void v5BackfillsUpdatedAtAndForbidsNull() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration-v5;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        flyway(dataSource, "4").migrate();
+        jdbc.update("INSERT INTO assets (id, name, created_at, updated_at) VALUES (1, 'legacy', ?, NULL)",
+                Timestamp.valueOf(CREATED));
+        jdbc.update("INSERT INTO assets (id, name, created_at, updated_at) VALUES (2, 'no-dates', NULL, NULL)");
+
+        flyway(dataSource, "5").migrate();
+
+        assertThat(jdbc.queryForObject("SELECT updated_at FROM assets WHERE id = 1", LocalDateTime.class))
+                .isEqualTo(CREATED);
+        assertThat(jdbc.queryForObject("SELECT updated_at FROM assets WHERE id = 2", LocalDateTime.class))
+                .isNotNull();
+        assertThatThrownBy(() -> jdbc.update("INSERT INTO assets (id, name, updated_at) VALUES (3, 'x', NULL)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static Flyway flyway(DriverManagerDataSource dataSource, String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .target(target)
+                .load();
+    }
+}
@@ -0,0 +1,101 @@
+package com.asset.assets.repository;
+
+import com.asset.assets.dto.AssetCursor;
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.dto.AssetSort;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class AssetRepositoryImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Asset> saved;
+
+    @BeforeEach
+    void setUp() {
+        List<Asset> assets = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Asset asset = new Asset();
+            asset.setName("asset-" + i);
+            asset.setOwner(i % 3 == 0 ? "alice" : "bob");
+            asset.setCategory(i % 2 == 0 ? AssetCategory.SERVER : AssetCategory.DATA);
+            asset.setStatus(AssetStatus.ACTIVE);
+            asset.setConfidentiality(CiaLevel.values()[i % 4]);
+            // Группы по три с одинаковым updatedAt: порядок внутри группы решает id
+            asset.setUpdatedAt(BASE.plusMinutes(i / 3));
+            assets.add(asset);
+        }
+        saved = assetRepository.saveAll(assets);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void walksAllRowsByIdWithoutGapsOrDuplicates() {
+        List<Long> expected = saved.stream().map(Asset::getId).sorted().toList();
+
+        assertThat(walk(AssetFilter.NONE, AssetSort.ID, 4)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void walksAllRowsByUpdatedAtDescWithTies() {
+        List<Long> expected = saved.stream()
+                .sorted(Comparator.comparing(Asset::getUpdatedAt).thenComparing(Asset::getId).reversed())
+                .map(Asset::getId)
+                .toList();
+
+        // Размер страницы не кратен группе с одинаковым updatedAt
+        assertThat(walk(AssetFilter.NONE, AssetSort.UPDATED_AT, 4)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void appliesEqualityAndMinimumLevelFilters() {
+        AssetFilter filter = new AssetFilter(AssetCategory.SERVER, null, "alice", null, null, null,
+                CiaLevel.HIGH, null, null);
+        List<Long> expected = saved.stream()
+                .filter(a -> a.getCategory() == AssetCategory.SERVER && "alice".equals(a.getOwner())
+                        && a.getConfidentiality().compareTo(CiaLevel.HIGH) >= 0)
+                .map(Asset::getId)
+                .sorted()
+                .toList();
+
+        assertThat(expected).isNotEmpty();
+        assertThat(walk(filter, AssetSort.ID, 2)).containsExactlyElementsOf(expected);
+    }
+
+    private List<Long> walk(AssetFilter filter, AssetSort sort, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        AssetCursor cursor = null;
+        while (true) {
+            List<Asset> page = assetRepository.findPage(filter, sort, cursor, pageSize);
+            page.forEach(asset -> ids.add(asset.getId()));
+            if (page.size() < pageSize) {
+                return ids;
+            }
+            // Через токен, как у клиента
+            cursor = AssetCursor.decode(AssetCursor.after(page.get(page.size() - 1), sort).encode(), sort);
+        }
+    }
+}
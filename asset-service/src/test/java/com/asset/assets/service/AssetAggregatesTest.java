@@ -0,0 +1,140 @@
+package com.asset.assets.service;
+
+import com.asset.assets.dto.AssetClassificationCount;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetSnapshot;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+import com.asset.assets.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AssetAggregatesTest {
+
+    private final AssetRepository assetRepository = mock(AssetRepository.class);
+    private final AssetAggregates aggregates = new AssetAggregates();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(aggregates, "assetRepository", assetRepository);
+    }
+
+    @Test
+    void rebuildReplacesCountersWithGroupByResult() {
+        when(assetRepository.countByClassification()).thenReturn(List.of(
+                row(AssetCategory.SERVER, AssetStatus.ACTIVE, 3),
+                row(AssetCategory.NETWORK, null, 2)));
+
+        aggregates.rebuild();
+
+        Map<String, Object> snapshot = aggregates.snapshot();
+        assertThat(aggregates.isReady()).isTrue();
+        assertThat(snapshot.get("total")).isEqualTo(5L);
+        assertThat(snapshot.get("category")).isEqualTo(Map.of("SERVER", 3L, "NETWORK", 2L));
+        assertThat(snapshot.get("status")).isEqualTo(Map.of("ACTIVE", 3L, "UNSET", 2L));
+    }
+
+    @Test
+    void eventsBetweenRebuildsMoveCounters() {
+        when(assetRepository.countByClassification()).thenReturn(List.of(row(AssetCategory.SERVER, AssetStatus.ACTIVE, 2)));
+        aggregates.rebuild();
+
+        AssetSnapshot server = asset(1L, AssetCategory.SERVER, AssetStatus.ACTIVE);
+        AssetSnapshot inMaintenance = server.withStatus(AssetStatus.MAINTENANCE);
+        aggregates.onAssetChanged(new AssetChangedEvent(server, inMaintenance));
+        aggregates.onAssetChanged(new AssetChangedEvent(null, asset(2L, AssetCategory.DATA, AssetStatus.ACTIVE)));
+        aggregates.onAssetChanged(new AssetChangedEvent(inMaintenance, null));
+
+        Map<String, Object> snapshot = aggregates.snapshot();
+        assertThat(snapshot.get("total")).isEqualTo(2L);
+        assertThat(snapshot.get("category")).isEqualTo(Map.of("SERVER", 1L, "DATA", 1L));
+        assertThat(snapshot.get("status")).isEqualTo(Map.of("ACTIVE", 2L));
+    }
+
+    @Test
+    void changeVisibleToSnapshotIsNotCountedTwice() {
+        AssetSnapshot committedBeforeSnapshot = asset(10L, AssetCategory.SERVER, AssetStatus.ACTIVE);
+        // Событие доставлено после установки буфера, но до фиксации снимка - GROUP BY его уже видит
+        when(assetRepository.beginSnapshot()).thenAnswer(invocation -> {
+            aggregates.onAssetChanged(new AssetChangedEvent(null, committedBeforeSnapshot));
+            return 1;
+        });
+        // Событие во время запроса - коммит после снимка, в результате его нет
+        when(assetRepository.countByClassification()).thenAnswer(invocation -> {
+            aggregates.onAssetChanged(new AssetChangedEvent(null, asset(11L, AssetCategory.DATA, AssetStatus.ACTIVE)));
+            return List.of(row(AssetCategory.SERVER, AssetStatus.ACTIVE, 4));
+        });
+        when(assetRepository.findSnapshots(anyCollection())).thenReturn(List.of(committedBeforeSnapshot));
+
+        aggregates.rebuild();
+
+        Map<String, Object> snapshot = aggregates.snapshot();
+        assertThat(snapshot.get("total")).isEqualTo(5L);
+        assertThat(snapshot.get("category")).isEqualTo(Map.of("SERVER", 4L, "DATA", 1L));
+    }
+
+    @Test
+    void latestVersionWinsWhenEventsArriveOutOfOrder() {
+        AssetSnapshot v0 = asset(20L, AssetCategory.SERVER, AssetStatus.ACTIVE);
+        AssetSnapshot v1 = v0.withStatus(AssetStatus.MAINTENANCE);
+        AssetSnapshot v2 = v1.withStatus(AssetStatus.DECOMMISSIONED);
+        when(assetRepository.countByClassification()).thenAnswer(invocation -> {
+            // Оба коммита после снимка, второй доставлен первым
+            aggregates.onAssetChanged(new AssetChangedEvent(v1, v2));
+            aggregates.onAssetChanged(new AssetChangedEvent(v0, v1));
+            return List.of(row(AssetCategory.SERVER, AssetStatus.ACTIVE, 1));
+        });
+        when(assetRepository.findSnapshots(anyCollection())).thenReturn(List.of(v0));
+
+        aggregates.rebuild();
+
+        Map<String, Object> snapshot = aggregates.snapshot();
+        assertThat(snapshot.get("total")).isEqualTo(1L);
+        assertThat(snapshot.get("status")).isEqualTo(Map.of("DECOMMISSIONED", 1L));
+    }
+
+    @Test
+    void deletionDuringRebuildRemovesRowSeenBySnapshot() {
+        AssetSnapshot server = asset(30L, AssetCategory.SERVER, AssetStatus.ACTIVE);
+        when(assetRepository.countByClassification()).thenAnswer(invocation -> {
+            aggregates.onAssetChanged(new AssetChangedEvent(server, null));
+            return List.of(row(AssetCategory.SERVER, AssetStatus.ACTIVE, 2));
+        });
+        when(assetRepository.findSnapshots(anyCollection())).thenReturn(List.of(server));
+
+        aggregates.rebuild();
+
+        assertThat(aggregates.snapshot().get("total")).isEqualTo(1L);
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousCounters() {
+        when(assetRepository.countByClassification())
+                .thenReturn(List.of(row(AssetCategory.SERVER, AssetStatus.ACTIVE, 2)))
+                .thenThrow(new IllegalStateException("database is down"));
+        aggregates.rebuild();
+
+        aggregates.rebuild();
+        aggregates.onAssetChanged(new AssetChangedEvent(null, asset(3L, AssetCategory.SERVER, AssetStatus.ACTIVE)));
+
+        assertThat(aggregates.snapshot().get("total")).isEqualTo(3L);
+    }
+
+    private static AssetClassificationCount row(AssetCategory category, AssetStatus status, long count) {
+        return new AssetClassificationCount(category, status, CiaLevel.LOW, CiaLevel.LOW, CiaLevel.LOW, count);
+    }
+
+    private static AssetSnapshot asset(Long id, AssetCategory category, AssetStatus status) {
+        return new AssetSnapshot(id, "Asset " + id, null, category, "alice", status,
+                CiaLevel.LOW, CiaLevel.LOW, CiaLevel.LOW, 0L);
+    }
+}
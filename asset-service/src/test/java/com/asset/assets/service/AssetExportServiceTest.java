@@ -0,0 +1,101 @@
+package com.asset.assets.service;
+
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.CiaLevel;
+import com.asset.assets.repository.AssetRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({AssetExportService.class, JacksonAutoConfiguration.class})
+class AssetExportServiceTest {
+
+    @Autowired
+    private AssetExportService assetExportService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Asset> saved;
+
+    @BeforeEach
+    void setUp() {
+        List<Asset> assets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Asset asset = new Asset();
+            asset.setName("asset-" + i);
+            asset.setOwner("alice");
+            asset.setCategory(AssetCategory.SERVER);
+            asset.setConfidentiality(CiaLevel.HIGH);
+            assets.add(asset);
+        }
+        assets.get(2).setDescription("Стойка 4, \"ряд\" B\nвторая строка");
+        saved = assetRepository.saveAll(assets);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void writesOneJsonObjectPerLineInIdOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = assetExportService.writeNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(5);
+        assertThat(lines).hasSize(5);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode node = objectMapper.readTree(lines[i]);
+            assertThat(node.get("id").asLong()).isEqualTo(saved.get(i).getId());
+            assertThat(node.get("category").asText()).isEqualTo("SERVER");
+        }
+        assertThat(objectMapper.readTree(lines[2]).get("description").asText())
+                .isEqualTo("Стойка 4, \"ряд\" B\nвторая строка");
+    }
+
+    @Test
+    void writesCsvWithHeaderAndQuotedFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = assetExportService.writeCsv(out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(rows).isEqualTo(5);
+        assertThat(csv).startsWith("id,name,description,category,owner,status,"
+                + "confidentiality,integrity,availability,lastReview,createdAt,updatedAt\n");
+        assertThat(csv).contains(saved.get(2).getId() + ",asset-2,\"Стойка 4, \"\"ряд\"\" B\nвторая строка\","
+                + "SERVER,alice,ACTIVE,HIGH,,,,");
+        assertThat(csv).contains(saved.get(0).getId() + ",asset-0,,SERVER,alice,ACTIVE,HIGH,,,,");
+    }
+
+    @Test
+    void leavesNothingInPersistenceContext() throws IOException {
+        assetExportService.writeNdjson(new ByteArrayOutputStream());
+
+        // Каждая строка отсоединяется после записи - heap не растёт с размером таблицы
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+}
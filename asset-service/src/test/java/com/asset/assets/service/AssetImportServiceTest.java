@@ -0,0 +1,139 @@
+package com.asset.assets.service;
+
+import com.asset.assets.dto.ImportError;
+import com.asset.assets.dto.ImportResult;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.repository.AssetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Импорт сам открывает транзакцию на пачку, тестовая транзакция помешала бы откату пачки
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AssetImportService.class, JacksonAutoConfiguration.class})
+class AssetImportServiceTest {
+
+    @Autowired
+    private AssetImportService assetImportService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(assetImportService, "batchSize", 3);
+        // Ошибка базы для одной строки, которую не ловит валидация
+        jdbcTemplate.execute("ALTER TABLE assets ADD CONSTRAINT assets_no_boom CHECK (name <> 'boom')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE assets DROP CONSTRAINT assets_no_boom");
+        assetRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importsJsonArrayInBatchesAndForcesOwnerAndStatus() throws IOException {
+        ImportResult result = assetImportService.importJsonArray(stream("""
+                [{"name": "a1", "category": "server", "confidentiality": "HIGH", "owner": "mallory"},
+                 {"name": "a2", "status": "DECOMMISSIONED"},
+                 {"name": "a3"}, {"name": "a4"}]
+                """), "alice");
+
+        assertThat(result).isEqualTo(new ImportResult(4, 4, 0, List.of(), false));
+        List<Asset> assets = assetRepository.findAll();
+        assertThat(assets).extracting(Asset::getOwner).containsOnly("alice");
+        assertThat(assets).filteredOn(a -> a.getName().equals("a2"))
+                .extracting(Asset::getStatus).containsExactly(AssetStatus.DECOMMISSIONED);
+        assertThat(assets).filteredOn(a -> a.getName().equals("a1"))
+                .extracting(Asset::getStatus).containsExactly(AssetStatus.ACTIVE);
+    }
+
+    @Test
+    void retriesFailedBatchRowByRow() throws IOException {
+        // Строка 5 во второй пачке (4..6) нарушает ограничение базы
+        ImportResult result = assetImportService.importNdjson(stream("""
+                {"name": "r1"}
+                {"name": "r2"}
+                {"name": "r3"}
+                {"name": "r4"}
+                {"name": "boom"}
+                {"name": "r6"}
+                {"name": "r7"}
+                """), "alice");
+
+        assertThat(result.received()).isEqualTo(7);
+        assertThat(result.imported()).isEqualTo(6);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors()).extracting(ImportError::row).containsExactly(5);
+        assertThat(result.errors().get(0).message()).startsWith("Database error:");
+        assertThat(assetRepository.findAll()).extracting(Asset::getName)
+                .containsExactlyInAnyOrder("r1", "r2", "r3", "r4", "r6", "r7");
+    }
+
+    @Test
+    void reportsInvalidRowsAndKeepsGoing() throws IOException {
+        ImportResult result = assetImportService.importNdjson(stream("""
+                {"name": "ok"}
+                {"name": ""}
+                {"name": "x", "confidentiality": "TOP_SECRET"}
+                not json
+
+                {"name": "%s"}
+                {"name": "ok2"}
+                """.formatted("n".repeat(256))), "alice");
+
+        assertThat(result.received()).isEqualTo(6);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).extracting(ImportError::row).containsExactly(2, 3, 4, 5);
+        assertThat(result.errors().get(0).message()).isEqualTo("name is required");
+    }
+
+    @Test
+    void stopsAtMalformedJsonArray() throws IOException {
+        ImportResult result = assetImportService.importJsonArray(stream("[{\"name\": \"a\"}, {\"name\": "),
+                "alice");
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors().get(0).message()).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void truncatesReportedErrors() throws IOException {
+        ReflectionTestUtils.setField(assetImportService, "maxReportedErrors", 2);
+        try {
+            ImportResult result = assetImportService.importNdjson(stream("{}\n{}\n{}\n"), "alice");
+
+            assertThat(result.failed()).isEqualTo(3);
+            assertThat(result.errors()).hasSize(2);
+            assertThat(result.errorsTruncated()).isTrue();
+        } finally {
+            ReflectionTestUtils.setField(assetImportService, "maxReportedErrors", 1000);
+        }
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
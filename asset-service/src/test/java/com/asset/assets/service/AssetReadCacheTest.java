@@ -0,0 +1,138 @@
+package com.asset.assets.service;
+
+import com.asset.assets.config.CacheConfig;
+import com.asset.assets.dto.AssetView;
+import com.asset.assets.model.Asset;
+import com.asset.assets.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, AssetReadCache.class})
+class AssetReadCacheTest {
+
+    @Autowired
+    private AssetReadCache assetReadCache;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        assetRepository.deleteAllInBatch();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void findByIdCachesDetachedView() {
+        Long id = assetRepository.save(asset("a", "alice")).getId();
+
+        AssetView first = assetReadCache.findById(id).orElseThrow();
+        AssetView second = assetReadCache.findById(id).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache(CacheConfig.ASSETS).get(id).get()).isInstanceOf(AssetView.class);
+        assertThat(first.version()).isEqualTo(0L);
+    }
+
+    @Test
+    void missingIdIsNotCached() {
+        assertThat(assetReadCache.findById(-1L)).isEmpty();
+
+        assertThat(cache(CacheConfig.ASSETS).get(-1L)).isNull();
+    }
+
+    @Test
+    void rolledBackWriteLeavesCacheConsistentWithDatabase() {
+        Long id = assetRepository.save(asset("a", "alice")).getId();
+        assetReadCache.findById(id);
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Asset asset = assetRepository.findCurrentById(id).orElseThrow();
+            asset.setName("uncommitted");
+            assetRepository.saveAndFlush(asset);
+            // До коммита сброс отложен
+            assertThat(cache(CacheConfig.ASSETS).get(id)).isNotNull();
+            status.setRollbackOnly();
+        });
+
+        AssetView cached = assetReadCache.findById(id).orElseThrow();
+        assertThat(cached.name()).isEqualTo("a");
+        assertThat(cached.version()).isEqualTo(assetRepository.findById(id).orElseThrow().getVersion());
+    }
+
+    @Test
+    void committedWriteEvictsAssetAndListsOfOldAndNewOwner() {
+        Asset saved = assetRepository.save(asset("a", "alice"));
+        assetRepository.save(asset("b", "bob"));
+        assetReadCache.findById(saved.getId());
+        assertThat(assetReadCache.findByOwner("alice")).hasSize(1);
+        assertThat(assetReadCache.findByOwner("bob")).hasSize(1);
+
+        saved.setOwner("bob");
+        assetRepository.save(saved);
+
+        assertThat(cache(CacheConfig.ASSETS).get(saved.getId())).isNull();
+        assertThat(assetReadCache.findByOwner("alice")).isEmpty();
+        assertThat(assetReadCache.findByOwner("bob")).extracting(AssetView::name)
+                .containsExactlyInAnyOrder("a", "b");
+        assertThat(assetReadCache.findById(saved.getId()).orElseThrow().version()).isEqualTo(1L);
+    }
+
+    @Test
+    void deleteClearsBothCaches() {
+        Asset saved = assetRepository.save(asset("a", "alice"));
+        assetReadCache.findById(saved.getId());
+        assetReadCache.findByOwner("alice");
+
+        assetRepository.deleteById(saved.getId());
+
+        assertThat(cache(CacheConfig.ASSETS).get(saved.getId())).isNull();
+        assertThat(cache(CacheConfig.ASSETS_BY_OWNER).get("alice")).isNull();
+        assertThat(assetReadCache.findById(saved.getId())).isEmpty();
+    }
+
+    @Test
+    void saveAllEvictsEverything() {
+        Asset saved = assetRepository.save(asset("a", "alice"));
+        assetReadCache.findById(saved.getId());
+        assetReadCache.findByOwner("bob");
+
+        assetRepository.saveAll(List.of(asset("b", "bob")));
+
+        assertThat(cache(CacheConfig.ASSETS).get(saved.getId())).isNull();
+        assertThat(assetReadCache.findByOwner("bob")).hasSize(1);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    private static Asset asset(String name, String owner) {
+        Asset asset = new Asset();
+        asset.setName(name);
+        asset.setOwner(owner);
+        return asset;
+    }
+}
@@ -0,0 +1,131 @@
+package com.asset.assets.service;
+
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+import com.asset.assets.repository.AssetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// События записи доходят до индекса только после коммита - без тестовой транзакции
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(AssetSearchIndex.class)
+class AssetSearchIndexTest {
+
+    @Autowired
+    private AssetSearchIndex searchIndex;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Asset web;
+    private Asset db;
+    private Asset backup;
+
+    @BeforeEach
+    void setUp() {
+        web = save("Web server", "Nginx перед приложением", AssetCategory.SERVER, "alice", CiaLevel.HIGH);
+        db = save("Database", "Primary server for PostgreSQL", AssetCategory.SERVER, "bob", CiaLevel.CRITICAL);
+        backup = save("Backup storage", "Ёмкость для копий базы", AssetCategory.DATA, "alice", CiaLevel.LOW);
+        searchIndex.build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        assetRepository.deleteAllInBatch();
+        searchIndex.reindex();
+    }
+
+    @Test
+    void nameMatchRanksAboveDescriptionMatch() {
+        AssetSearchIndex.Result result = searchIndex.search("server", AssetFilter.NONE, 0, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).extracting(AssetSearchIndex.Hit::id).containsExactly(web.getId(), db.getId());
+        assertThat(result.hits().get(0).score()).isGreaterThan(result.hits().get(1).score());
+    }
+
+    @Test
+    void allTermsAreRequiredAndYoIsNormalized() {
+        assertThat(searchIndex.search("емкость копий", AssetFilter.NONE, 0, 10).hits())
+                .extracting(AssetSearchIndex.Hit::id).containsExactly(backup.getId());
+        assertThat(searchIndex.search("емкость nginx", AssetFilter.NONE, 0, 10).total()).isZero();
+        assertThatThrownBy(() -> searchIndex.search(" ,. ", AssetFilter.NONE, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void facetsAndFiltersCoverAllMatches() {
+        save("Web cache", "Varnish", AssetCategory.NETWORK, "bob", CiaLevel.MEDIUM);
+
+        AssetSearchIndex.Result result = searchIndex.search("web", AssetFilter.NONE, 0, 1);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).hasSize(1);
+        assertThat(result.facets().get("owner")).isEqualTo(Map.of("alice", 1, "bob", 1));
+
+        AssetFilter highOnly = new AssetFilter(null, null, null, null, null, null, CiaLevel.HIGH, null, null);
+        assertThat(searchIndex.search("web", highOnly, 0, 10).hits())
+                .extracting(AssetSearchIndex.Hit::id).containsExactly(web.getId());
+    }
+
+    @Test
+    void writesThroughRepositoryUpdateIndex() {
+        Asset asset = assetRepository.findById(web.getId()).orElseThrow();
+        asset.setName("Reverse proxy");
+        assetRepository.save(asset);
+        assetRepository.deleteById(backup.getId());
+
+        assertThat(searchIndex.search("proxy", AssetFilter.NONE, 0, 10).total()).isEqualTo(1);
+        assertThat(searchIndex.search("web", AssetFilter.NONE, 0, 10).total()).isZero();
+        assertThat(searchIndex.search("backup", AssetFilter.NONE, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void reindexPicksUpChangesThatBypassEvents() {
+        // Как запись другого экземпляра или правка прямо в базе
+        jdbcTemplate.update("UPDATE assets SET name = 'Mail server' WHERE id = ?", web.getId());
+        jdbcTemplate.update("DELETE FROM assets WHERE id = ?", backup.getId());
+        assertThat(searchIndex.search("mail", AssetFilter.NONE, 0, 10).total()).isZero();
+
+        searchIndex.reindex();
+
+        assertThat(searchIndex.search("mail", AssetFilter.NONE, 0, 10).hits())
+                .extracting(AssetSearchIndex.Hit::id).containsExactly(web.getId());
+        assertThat(searchIndex.search("backup", AssetFilter.NONE, 0, 10).total()).isZero();
+        assertThat(searchIndex.stats()).containsEntry("documents", 2).containsEntry("lastReindexChanges", 2L);
+
+        // Без изменений сверка ничего не трогает
+        searchIndex.reindex();
+        assertThat(searchIndex.stats()).containsEntry("lastReindexChanges", 0L);
+    }
+
+    private Asset save(String name, String description, AssetCategory category, String owner,
+                       CiaLevel confidentiality) {
+        Asset asset = new Asset();
+        asset.setName(name);
+        asset.setDescription(description);
+        asset.setCategory(category);
+        asset.setOwner(owner);
+        asset.setStatus(AssetStatus.ACTIVE);
+        asset.setConfidentiality(confidentiality);
+        return assetRepository.save(asset);
+    }
+}
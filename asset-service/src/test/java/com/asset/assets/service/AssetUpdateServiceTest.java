@@ -0,0 +1,156 @@
+package com.asset.assets.service;
+
+import com.asset.assets.dto.AssetBulkResult;
+import com.asset.assets.dto.AssetPatch;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+import com.asset.assets.repository.AssetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Версия проверяется при flush в транзакции сервиса - без тестовой транзакции
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@Import(AssetUpdateService.class)
+class AssetUpdateServiceTest {
+
+    @Autowired
+    private AssetUpdateService assetUpdateService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(assetUpdateService, "maxBulkIds", 1000);
+        assetRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void patchChangesOnlyGivenFieldsAndBumpsVersion() {
+        Asset asset = save("Web server", AssetStatus.ACTIVE);
+
+        Asset patched = assetUpdateService.patch(asset.getId(), new AssetPatch(asset.getVersion(), null,
+                "Reverse proxy", null, null, CiaLevel.CRITICAL, null, null, null)).orElseThrow();
+
+        Asset stored = assetRepository.findCurrentById(asset.getId()).orElseThrow();
+        assertThat(stored.getName()).isEqualTo("Web server");
+        assertThat(stored.getDescription()).isEqualTo("Reverse proxy");
+        assertThat(stored.getConfidentiality()).isEqualTo(CiaLevel.CRITICAL);
+        assertThat(stored.getCategory()).isEqualTo(AssetCategory.SERVER);
+        assertThat(stored.getVersion()).isEqualTo(asset.getVersion() + 1).isEqualTo(patched.getVersion());
+        // По версии в событии агрегаты упорядочивают изменения одного актива
+        assertThat(events.stream(AssetChangedEvent.class).filter(e -> e.before() != null && e.after() != null))
+                .extracting(e -> e.before().version(), e -> e.after().version())
+                .containsExactly(tuple(asset.getVersion(), stored.getVersion()));
+    }
+
+    @Test
+    void staleVersionIsRejectedAndFirstWriteKept() {
+        Asset asset = save("Web server", AssetStatus.ACTIVE);
+        Long seen = asset.getVersion();
+
+        assetUpdateService.patch(asset.getId(), patch(seen, "First"));
+
+        assertThatThrownBy(() -> assetUpdateService.patch(asset.getId(), patch(seen, "Second")))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(assetRepository.findCurrentById(asset.getId()).orElseThrow().getName()).isEqualTo("First");
+    }
+
+    @Test
+    void patchValidatesInputAndReportsMissingAsset() {
+        Asset asset = save("Web server", AssetStatus.ACTIVE);
+
+        assertThatThrownBy(() -> assetUpdateService.patch(asset.getId(), patch(null, "x")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assetUpdateService.patch(asset.getId(), patch(asset.getVersion(), " ")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assetUpdateService.patch(asset.getId(), patch(asset.getVersion(), "x".repeat(256))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(assetUpdateService.patch(-1L, patch(0L, "x"))).isEmpty();
+    }
+
+    @Test
+    void statusTransitionSkipsRowsAlreadyInTargetStatus() {
+        Asset active = save("a", AssetStatus.ACTIVE);
+        Asset inactive = save("b", AssetStatus.INACTIVE);
+        Asset maintenance = save("c", AssetStatus.MAINTENANCE);
+
+        AssetBulkResult result = assetUpdateService.transitionStatus(
+                Arrays.asList(active.getId(), inactive.getId(), maintenance.getId(), active.getId(), null, -1L),
+                AssetStatus.MAINTENANCE);
+
+        assertThat(result).isEqualTo(new AssetBulkResult(4, 2));
+        assertThat(assetRepository.findCurrentById(active.getId()).orElseThrow().getVersion())
+                .isEqualTo(active.getVersion() + 1);
+        assertThat(assetRepository.findCurrentById(maintenance.getId()).orElseThrow().getVersion())
+                .isEqualTo(maintenance.getVersion());
+        // Индекс поиска и агрегаты получают событие только по изменённым строкам
+        assertThat(events.stream(AssetChangedEvent.class).filter(e -> e.before() != null && e.after() != null))
+                .extracting(AssetChangedEvent::id, e -> e.before().status(), e -> e.after().status(),
+                        e -> e.after().version())
+                .containsExactlyInAnyOrder(
+                        tuple(active.getId(), AssetStatus.ACTIVE, AssetStatus.MAINTENANCE, active.getVersion() + 1),
+                        tuple(inactive.getId(), AssetStatus.INACTIVE, AssetStatus.MAINTENANCE, inactive.getVersion() + 1));
+    }
+
+    @Test
+    void markReviewedSetsReviewDateAndBumpsVersion() {
+        Asset asset = save("a", AssetStatus.ACTIVE);
+
+        assertThat(assetUpdateService.markReviewed(List.of(asset.getId()))).isEqualTo(new AssetBulkResult(1, 1));
+
+        Asset stored = assetRepository.findCurrentById(asset.getId()).orElseThrow();
+        assertThat(stored.getLastReview()).isNotNull();
+        assertThat(stored.getVersion()).isEqualTo(asset.getVersion() + 1);
+    }
+
+    @Test
+    void bulkRequestsAreValidated() {
+        ReflectionTestUtils.setField(assetUpdateService, "maxBulkIds", 2);
+
+        assertThatThrownBy(() -> assetUpdateService.markReviewed(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assetUpdateService.markReviewed(Arrays.asList(null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assetUpdateService.markReviewed(List.of(1L, 2L, 3L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assetUpdateService.transitionStatus(List.of(1L), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AssetPatch patch(Long version, String name) {
+        return new AssetPatch(version, name, null, null, null, null, null, null, null);
+    }
+
+    private Asset save(String name, AssetStatus status) {
+        Asset asset = new Asset();
+        asset.setName(name);
+        asset.setCategory(AssetCategory.SERVER);
+        asset.setOwner("alice");
+        asset.setStatus(status);
+        asset.setConfidentiality(CiaLevel.LOW);
+        return assetRepository.save(asset);
+    }
+}
@@ -0,0 +1,24 @@
+package com.asset.auth.config;
+
+import com.asset.auth.service.CredentialVerifier;
+import com.asset.auth.service.InMemoryCredentialVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CredentialConfig {
+
+    // По умолчанию - прежние тестовые учётные записи
+    @Value("${auth.local-users:admin:admin123,user:user123}")
+    private String localUsers;
+
+    // Выбор по свойству, а не @ConditionalOnMissingBean: в обычной @Configuration тот
+    // зависит от порядка сканирования. Своя реализация: auth.credentials.verifier=<имя> и бин
+    @Bean
+    @ConditionalOnProperty(name = "auth.credentials.verifier", havingValue = "in-memory", matchIfMissing = true)
+    public CredentialVerifier credentialVerifier() {
+        return new InMemoryCredentialVerifier(localUsers);
+    }
+}
@@ -0,0 +1,40 @@
+package com.asset.auth.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class JwtConfig {
+
+    @Value("${keycloak.url:http://localhost:8180}")
+    private String keycloakBaseUrl;
+
+    @Value("${keycloak.realm:asset-management}")
+    private String realm;
+
+    // Как часто перечитывать JWKS; при незнакомом kid ключи подтягиваются сразу
+    @Value("${keycloak.jwks.refresh-seconds:300}")
+    private long jwksRefreshSeconds;
+
+    @Bean
+    public JwtDecoder jwtDecoder(RestTemplate keycloakRestTemplate) {
+        String jwkSetUri = keycloakBaseUrl + "/realms/" + realm + "/protocol/openid-connect/certs";
+        CaffeineCache jwksCache = new CaffeineCache("jwks", Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(jwksRefreshSeconds))
+                .maximumSize(1)
+                .build());
+
+        return NimbusJwtDecoder.withJwkSetUri(jwkSetUri)
+                .restOperations(keycloakRestTemplate)
+                .cache(jwksCache)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.asset.auth.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Общий HTTP-клиент для всех обращений к Keycloak: пул keep-alive соединений
+ * с лимитами на маршрут и конечными таймаутами, чтобы медленный Keycloak не
+ * занимал потоки Tomcat бесконечно.
+ */
+@Configuration
+public class KeycloakHttpClientConfig {
+
+    @Value("${keycloak.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${keycloak.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    // Сколько ждать свободное соединение из пула
+    @Value("${keycloak.http.pool-acquire-timeout-ms:1000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${keycloak.http.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${keycloak.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${keycloak.http.idle-evict-seconds:30}")
+    private long idleEvictSeconds;
+
+    @Bean
+    public PoolingHttpClientConnectionManager keycloakConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient keycloakHttpClient(PoolingHttpClientConnectionManager keycloakConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(keycloakConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate keycloakRestTemplate(RestTemplateBuilder builder, CloseableHttpClient keycloakHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(keycloakHttpClient))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.asset.auth.config;
+
+import com.asset.auth.service.KeycloakClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges пула соединений к Keycloak, circuit breaker и bulkhead.
+ * Время самих вызовов - таймер {@link KeycloakClient#REQUEST_TIMER}.
+ */
+@Configuration
+public class KeycloakMetricsConfig {
+
+    @Bean
+    public MeterBinder keycloakMetrics(KeycloakClient keycloakClient) {
+        return registry -> {
+            Gauge.builder("keycloak.pool.leased", keycloakClient, client -> client.poolStats().getLeased())
+                    .description("Connections to Keycloak in use")
+                    .register(registry);
+            Gauge.builder("keycloak.pool.available", keycloakClient, client -> client.poolStats().getAvailable())
+                    .description("Idle connections to Keycloak")
+                    .register(registry);
+            Gauge.builder("keycloak.pool.pending", keycloakClient, client -> client.poolStats().getPending())
+                    .description("Requests waiting for a connection to Keycloak")
+                    .register(registry);
+            Gauge.builder("keycloak.pool.max", keycloakClient, client -> client.poolStats().getMax())
+                    .register(registry);
+
+            // 0 - CLOSED, 1 - OPEN, 2 - HALF_OPEN, 3 - прочие состояния
+            Gauge.builder("keycloak.circuit.breaker.state", keycloakClient,
+                            client -> breakerState(client.circuitBreaker().getState()))
+                    .register(registry);
+            Gauge.builder("keycloak.circuit.breaker.failure.rate", keycloakClient,
+                            client -> client.circuitBreaker().getMetrics().getFailureRate())
+                    .baseUnit("percent")
+                    .register(registry);
+            Gauge.builder("keycloak.bulkhead.available", keycloakClient,
+                            client -> client.bulkhead().getMetrics().getAvailableConcurrentCalls())
+                    .register(registry);
+        };
+    }
+
+    private static int breakerState(CircuitBreaker.State state) {
+        return switch (state) {
+            case CLOSED -> 0;
+            case OPEN -> 1;
+            case HALF_OPEN -> 2;
+            default -> 3;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.asset.auth.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Режим auth.execution.mode=virtual: каждый HTTP-запрос обрабатывается в
+ * виртуальном потоке, и блокирующие вызовы Keycloak не держат потоки
+ * платформы. Требует запуска на Java 21+; сборка остаётся на Java 17,
+ * поэтому фабрика исполнителя получается через reflection.
+ *
+ * В этом режиме параллелизм к Keycloak ограничивает пул соединений
+ * (keycloak.http.max-connections-per-route), а не число потоков Tomcat.
+ *
+ * Выигрыш есть, только когда задержка Keycloak × поток логинов больше
+ * 200 потоков Tomcat. Замер на 1 vCPU (load-test/reference, scripts/login-load-test.sh):
+ * при задержке 1 с оба режима упираются в CPU (100-135 логинов/с), при 3 с -
+ * 57-65 логинов/с на потоках платформы против 76-84 на виртуальных.
+ */
+@Configuration
+@ConditionalOnProperty(name = "auth.execution.mode", havingValue = "virtual")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService requestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            log.info("Tomcat requests will run on virtual threads");
+            return executor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("auth.execution.mode=virtual requires Java 21 or newer, running on "
+                    + System.getProperty("java.version"), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService requestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+}
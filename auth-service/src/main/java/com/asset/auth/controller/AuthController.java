@@ -1,14 +1,33 @@
 package com.asset.auth.controller;
 
+import com.asset.auth.dto.LoginResponse;
+import com.asset.auth.service.CredentialVerifier;
+import com.asset.auth.service.HealthMonitor;
+import com.asset.auth.service.JwtClaims;
+import com.asset.auth.service.JwtClaimsDecoder;
+import com.asset.auth.service.KeycloakClient;
+import com.asset.auth.service.LoginTokenCache;
+import com.asset.auth.service.TokenRefreshCoalescer;
+import com.asset.auth.service.TokenValidationService;
+import com.asset.common.health.DependencyHealth;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.apache.hc.core5.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value; // ВАЖНО: Добавить этот импорт
 import org.springframework.http.*;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -16,118 +35,108 @@ import java.util.Map;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080", "http://localhost:8082"})
 public class AuthController {
 
-    // Эти аннотации требуют импорта org.springframework.beans.factory.annotation.Value
-    @Value("${keycloak.url:http://localhost:8180}")
-    private String keycloakBaseUrl;
-
-    @Value("${keycloak.realm:asset-management}")
-    private String realm;
-
-    @Value("${keycloak.client-id:asset-backend}")
-    private String clientId;
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
 
-    @Value("${keycloak.client-secret:backend-secret}")
-    private String clientSecret;
+    private static final Map<String, Object> STATUS_UP = Map.of("status", "UP");
+    private static final Map<String, Object> INVALID_CREDENTIALS = Map.of("error", "Invalid credentials");
+    private static final Map<String, Object> AUTH_UNAVAILABLE = Map.of("error", "Authentication service unavailable");
 
+    // Эти аннотации требуют импорта org.springframework.beans.factory.annotation.Value
     @Value("${keycloak.enabled:true}")
     private boolean keycloakEnabled;
 
     @Value("${auth.fallback.enabled:false}")
     private boolean fallbackEnabled;
 
+    @Autowired
+    private TokenValidationService tokenValidationService;
+
+    @Autowired
+    private KeycloakClient keycloakClient;
+
+    @Autowired
+    private HealthMonitor healthMonitor;
+
+    @Autowired
+    private TokenRefreshCoalescer tokenRefreshCoalescer;
+
+    @Autowired
+    private CredentialVerifier credentialVerifier;
+
+    @Autowired
+    private LoginTokenCache loginTokenCache;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
-        System.out.println("🚀 LOGIN STARTED for user: " + credentials.get("username"));
+        log.info("🚀 Login started for user: {}", credentials.get("username"));
 
         String username = credentials.get("username");
         String password = credentials.get("password");
 
-        // Проверка тестовых учетных данных
-        boolean isTestAdmin = "admin".equals(username) && "admin123".equals(password);
-        boolean isTestUser = "user".equals(username) && "user123".equals(password);
-
-        if (!isTestAdmin && !isTestUser) {
-            return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
+        if (!credentialVerifier.verify(username, password)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(INVALID_CREDENTIALS);
         }
 
         // Пробуем получить токен от Keycloak
         if (keycloakEnabled) {
-            try {
-                String url = keycloakBaseUrl + "/realms/" + realm + "/protocol/openid-connect/token";
-                System.out.println("📞 Calling Keycloak: " + url);
-
-                MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-                params.add("client_id", clientId);
-                params.add("client_secret", clientSecret);
-                params.add("username", username);
-                params.add("password", password);
-                params.add("grant_type", "password");
-                params.add("scope", "openid");
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+            String clientId = keycloakClient.clientId();
+            LoginResponse cached = loginTokenCache.get(username, clientId, password);
+            if (cached != null) {
+                log.info("✅ Reused cached token for user: {}", username);
+                return ResponseEntity.ok(cached);
+            }
 
-                HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
-                RestTemplate restTemplate = new RestTemplate();
+            try {
+                log.debug("📞 Calling Keycloak: {}", keycloakClient.tokenUrl());
 
-                ResponseEntity<Map> response = restTemplate.exchange(
-                        url, HttpMethod.POST, request, Map.class);
+                ResponseEntity<Map> response = keycloakClient.passwordGrant(username, password);
 
                 if (response.getStatusCode() == HttpStatus.OK) {
-                    Map<String, Object> tokenData = response.getBody();
-                    System.out.println("✅ SUCCESS! Got token from Keycloak");
+                    log.info("✅ Got token from Keycloak for user: {}", username);
 
-                    return buildSuccessResponse(tokenData, "SUCCESS - Real JWT token from Keycloak");
+                    LoginResponse result = LoginResponse.fromKeycloak(response.getBody(),
+                            "SUCCESS - Real JWT token from Keycloak");
+                    loginTokenCache.put(username, clientId, password, result);
+                    return ResponseEntity.ok(result);
                 } else {
-                    System.out.println("❌ Keycloak returned error: " + response.getStatusCode());
+                    log.warn("❌ Keycloak returned error: {}", response.getStatusCode());
                 }
+            } catch (CallNotPermittedException | BulkheadFullException e) {
+                // Keycloak помечен нездоровым или перегружен - не ждём таймаута
+                log.warn("⚡ Keycloak call rejected: {}", e.getMessage());
+            } catch (HttpClientErrorException e) {
+                // Keycloak отклонил учётные данные
+                log.warn("❌ Keycloak rejected login: {}", e.getStatusCode());
             } catch (Exception e) {
-                System.out.println("❌ Keycloak error: " + e.getMessage());
-                e.printStackTrace();
+                log.warn("❌ Keycloak error: {}", e.getMessage());
             }
         }
 
-        // Fallback режим
+        // Fallback режим (деградация при недоступном Keycloak)
         if (fallbackEnabled) {
-            System.out.println("⚠️ Using fallback test mode");
-            return buildFallbackResponse(username);
+            log.warn("⚠️ Using fallback test mode for user: {}", username);
+            return ResponseEntity.ok(buildFallbackResponse(username));
         }
 
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body(Map.of("error", "Authentication service unavailable"));
-    }
-
-    private ResponseEntity<Map<String, Object>> buildSuccessResponse(
-            Map<String, Object> tokenData, String message) {
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("accessToken", tokenData.get("access_token"));
-        result.put("refreshToken", tokenData.get("refresh_token"));
-        result.put("expiresIn", tokenData.get("expires_in"));
-        result.put("tokenType", tokenData.get("token_type"));
-        result.put("scope", tokenData.get("scope"));
-        result.put("message", message);
-
-        return ResponseEntity.ok(result);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(AUTH_UNAVAILABLE);
     }
 
-    private ResponseEntity<Map<String, Object>> buildFallbackResponse(String username) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("accessToken", "test-jwt-token-" + username + "-" + System.currentTimeMillis());
-        result.put("refreshToken", "test-refresh-token-" + username + "-" + System.currentTimeMillis());
-        result.put("expiresIn", 3600);
-        result.put("refreshExpiresIn", 7200);
-        result.put("tokenType", "Bearer");
-        result.put("scope", "openid profile email");
-        result.put("message", "Authentication successful (TEST MODE)");
-        result.put("warning", "Using test mode because Keycloak is not accessible");
-
-        return ResponseEntity.ok(result);
+    private static LoginResponse buildFallbackResponse(String username) {
+        long now = System.currentTimeMillis();
+        return new LoginResponse(
+                "test-jwt-token-" + username + "-" + now,
+                "test-refresh-token-" + username + "-" + now,
+                3600L,
+                7200L,
+                "Bearer",
+                "openid profile email",
+                "Authentication successful (TEST MODE)",
+                "Using test mode because Keycloak is not accessible");
     }
 
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        System.out.println("👤 GET CURRENT USER request");
+        log.debug("👤 Get current user request");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -136,14 +145,14 @@ public class AuthController {
 
         try {
             String token = authHeader.substring(7);
-            System.out.println("Token received, length: " + token.length());
+            log.debug("Token received, length: {}", token.length());
 
             // Проверяем, это тестовый токен или реальный JWT
             boolean isTestToken = token.startsWith("test-jwt-token-");
             boolean isRealJWT = token.split("\\.").length == 3;
 
             if (isTestToken) {
-                System.out.println("Using test token logic");
+                log.debug("Using test token logic");
                 // Тестовый токен - возвращаем тестовые данные
                 Map<String, Object> userInfo = new HashMap<>();
 
@@ -172,85 +181,43 @@ public class AuthController {
                 return ResponseEntity.ok(userInfo);
 
             } else if (isRealJWT) {
-                System.out.println("Using real JWT token");
+                log.debug("Using real JWT token");
 
+                Jwt jwt;
                 try {
-                    // Пробуем интроспекцию токена через Keycloak
-                    String introspectUrl = "http://keycloak:8080/realms/asset-management/protocol/openid-connect/token/introspect";
-
-                    MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-                    params.add("client_id", "asset-backend");
-                    params.add("client_secret", "backend-secret");
-                    params.add("token", token);
-
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-                    HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
-
-                    RestTemplate restTemplate = new RestTemplate();
-                    ResponseEntity<Map> response = restTemplate.postForEntity(introspectUrl, request, Map.class);
-
-                    if (response.getStatusCode() == HttpStatus.OK) {
-                        Map<String, Object> introspectResponse = response.getBody();
-
-                        boolean active = Boolean.TRUE.equals(introspectResponse.get("active"));
-                        if (active) {
-                            System.out.println("✅ Token is active");
-
-                            Map<String, Object> userInfo = new HashMap<>();
-                            userInfo.put("username", introspectResponse.get("preferred_username"));
-                            userInfo.put("email", introspectResponse.get("email"));
-                            userInfo.put("firstName", introspectResponse.get("given_name"));
-                            userInfo.put("lastName", introspectResponse.get("family_name"));
-                            userInfo.put("active", true);
-                            userInfo.put("exp", introspectResponse.get("exp"));
-                            userInfo.put("iat", introspectResponse.get("iat"));
-                            userInfo.put("iss", introspectResponse.get("iss"));
-                            userInfo.put("aud", introspectResponse.get("aud"));
-                            userInfo.put("mode", "PRODUCTION");
-
-                            return ResponseEntity.ok(userInfo);
-                        } else {
-                            System.out.println("❌ Token is not active");
-                            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                                    .body(Map.of("error", "Token is not active"));
-                        }
-                    }
-                } catch (Exception e) {
-                    System.out.println("⚠️ Token introspection failed: " + e.getMessage());
-
-                    // Fallback: декодируем JWT самостоятельно (только payload)
-                    try {
-                        String[] parts = token.split("\\.");
-                        if (parts.length >= 2) {
-                            String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
-                            Map<String, Object> payloadMap = new HashMap<>();
-
-                            // Простой парсинг JSON
-                            String json = payload.replace("{", "").replace("}", "");
-                            String[] pairs = json.split(",");
-                            for (String pair : pairs) {
-                                String[] keyValue = pair.split(":");
-                                if (keyValue.length == 2) {
-                                    String key = keyValue[0].trim().replace("\"", "");
-                                    String value = keyValue[1].trim().replace("\"", "");
-                                    payloadMap.put(key, value);
-                                }
-                            }
-
-                            Map<String, Object> userInfo = new HashMap<>();
-                            userInfo.put("username", payloadMap.get("preferred_username"));
-                            userInfo.put("email", payloadMap.get("email"));
-                            userInfo.put("active", true);
-                            userInfo.put("mode", "PRODUCTION (decoded)");
-
-                            return ResponseEntity.ok(userInfo);
-                        }
-                    } catch (Exception e2) {
-                        System.out.println("❌ JWT decoding failed: " + e2.getMessage());
-                    }
+                    // Подпись и сроки проверяем локально по закэшированному JWKS
+                    jwt = tokenValidationService.decode(token);
+                } catch (BadJwtException e) {
+                    log.info("❌ Token rejected: {}", e.getMessage());
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body(Map.of("error", "Invalid token"));
+                } catch (JwtException e) {
+                    // Ключи получить не удалось - токен не проверен, активным его не считаем
+                    log.warn("⚠️ JWKS unavailable: {}", e.getMessage());
+                    return buildUnverifiedUserInfo(token);
                 }
+
+                if (!tokenValidationService.isActive(token)) {
+                    log.info("❌ Token is not active");
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body(Map.of("error", "Token is not active"));
+                }
+
+                log.debug("✅ Token is valid");
+
+                Map<String, Object> userInfo = new HashMap<>();
+                userInfo.put("username", jwt.getClaimAsString("preferred_username"));
+                userInfo.put("email", jwt.getClaimAsString("email"));
+                userInfo.put("firstName", jwt.getClaimAsString("given_name"));
+                userInfo.put("lastName", jwt.getClaimAsString("family_name"));
+                userInfo.put("active", true);
+                userInfo.put("exp", jwt.getExpiresAt() != null ? jwt.getExpiresAt().getEpochSecond() : null);
+                userInfo.put("iat", jwt.getIssuedAt() != null ? jwt.getIssuedAt().getEpochSecond() : null);
+                userInfo.put("iss", jwt.getClaimAsString("iss"));
+                userInfo.put("aud", jwt.getAudience());
+                userInfo.put("mode", "PRODUCTION");
+
+                return ResponseEntity.ok(userInfo);
             }
 
             // Если ничего не сработало
@@ -258,43 +225,95 @@ public class AuthController {
                     .body(Map.of("error", "Invalid token format"));
 
         } catch (Exception e) {
-            System.out.println("❌ Error getting user info: " + e.getMessage());
+            log.error("❌ Error getting user info", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Internal server error"));
         }
     }
 
+    // Без проверки подписи: только поля для отображения, всегда active=false и 503
+    private ResponseEntity<?> buildUnverifiedUserInfo(String token) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "Token verification unavailable");
+        body.put("active", false);
+
+        JwtClaims claims = JwtClaimsDecoder.decode(token);
+        if (claims != null) {
+            body.put("username", claims.username());
+            body.put("email", claims.email());
+            body.put("firstName", claims.firstName());
+            body.put("lastName", claims.lastName());
+            body.put("mode", "UNVERIFIED");
+        }
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(body);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<?> health() {
-        System.out.println("🏥 Health check called");
+        // Отдаём результат последней фоновой проверки, без обращения к Keycloak
+        DependencyHealth keycloak = healthMonitor.keycloak();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", healthMonitor.isReady() ? "UP" : "DEGRADED");
+        response.put("service", "auth-service");
+        response.put("keycloak", keycloak.isUp() ? "REACHABLE" : "UNREACHABLE");
+        response.put("keycloakCheck", keycloak.toMap());
+        response.put("circuitBreaker", circuitBreakerInfo());
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
 
-        try {
-            // Простая проверка Keycloak
-            RestTemplate restTemplate = new RestTemplate();
-            String url = "http://keycloak:8080/realms/asset-management/.well-known/openid-configuration";
-            restTemplate.getForObject(url, Map.class);
-
-            return ResponseEntity.ok(Map.of(
-                    "status", "UP",
-                    "service", "auth-service",
-                    "keycloak", "REACHABLE",
-                    "timestamp", System.currentTimeMillis()
-            ));
+    @GetMapping("/health/live")
+    public ResponseEntity<?> liveness() {
+        return ResponseEntity.ok(STATUS_UP);
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.ok(Map.of(
-                    "status", "UP",
-                    "service", "auth-service",
-                    "keycloak", "UNREACHABLE",
-                    "error", e.getMessage(),
-                    "timestamp", System.currentTimeMillis()
-            ));
+    @GetMapping("/health/ready")
+    public ResponseEntity<?> readiness() {
+        if (healthMonitor.isReady()) {
+            return ResponseEntity.ok(STATUS_UP);
         }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "status", "OUT_OF_SERVICE",
+                "keycloak", healthMonitor.keycloak().toMap()
+        ));
+    }
+
+    private Map<String, Object> circuitBreakerInfo() {
+        CircuitBreaker.Metrics metrics = keycloakClient.circuitBreaker().getMetrics();
+        Bulkhead.Metrics bulkheadMetrics = keycloakClient.bulkhead().getMetrics();
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("state", keycloakClient.circuitBreaker().getState().name());
+        info.put("failureRate", metrics.getFailureRate());
+        info.put("bufferedCalls", metrics.getNumberOfBufferedCalls());
+        info.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+        info.put("bulkheadAvailableCalls", bulkheadMetrics.getAvailableConcurrentCalls());
+        info.put("bulkheadMaxCalls", bulkheadMetrics.getMaxAllowedConcurrentCalls());
+        return info;
+    }
+
+    @GetMapping("/pool-stats")
+    public ResponseEntity<?> poolStats() {
+        PoolStats stats = keycloakClient.poolStats();
+        return ResponseEntity.ok(Map.of(
+                "leased", stats.getLeased(),
+                "available", stats.getAvailable(),
+                "pending", stats.getPending(),
+                "max", stats.getMax(),
+                "refresh", tokenRefreshCoalescer.stats(),
+                "loginCache", Map.of("hits", loginTokenCache.hitCount(), "misses", loginTokenCache.missCount(),
+                        "entries", loginTokenCache.size()),
+                "timestamp", System.currentTimeMillis()
+        ));
     }
 
     @PostMapping("/refresh")
     public ResponseEntity<?> refreshToken(@RequestBody Map<String, String> request) {
-        System.out.println("🔄 REFRESH TOKEN request");
+        log.debug("🔄 Refresh token request");
 
         if (!request.containsKey("refreshToken")) {
             return ResponseEntity.badRequest().body(Map.of("error", "refreshToken is required"));
@@ -303,50 +322,36 @@ public class AuthController {
         String refreshToken = request.get("refreshToken");
 
         try {
-            String url = "http://keycloak:8080/realms/asset-management/protocol/openid-connect/token";
-
-            MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-            params.add("client_id", "asset-backend");
-            params.add("client_secret", "backend-secret");
-            params.add("refresh_token", refreshToken);
-            params.add("grant_type", "refresh_token");
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(params, headers);
-
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
+            // Одновременные обновления с одним refresh-токеном делят один вызов Keycloak
+            ResponseEntity<Map> response = tokenRefreshCoalescer.refresh(refreshToken);
 
             if (response.getStatusCode() == HttpStatus.OK) {
-                Map<String, Object> tokenData = response.getBody();
-
-                Map<String, Object> result = new HashMap<>();
-                result.put("accessToken", tokenData.get("access_token"));
-                result.put("refreshToken", tokenData.get("refresh_token"));
-                result.put("expiresIn", tokenData.get("expires_in"));
-                result.put("tokenType", tokenData.get("token_type"));
-                result.put("message", "Token refreshed successfully");
+                // Keycloak мог ротировать этот refresh-токен - кэшированная пара больше не годится
+                loginTokenCache.invalidateRefreshToken(refreshToken);
 
+                LoginResponse result = LoginResponse.fromKeycloak(response.getBody(), "Token refreshed successfully");
                 return ResponseEntity.ok(result);
             } else {
-                System.out.println("❌ Keycloak refresh failed: " + response.getStatusCode());
+                log.warn("❌ Keycloak refresh failed: {}", response.getStatusCode());
                 return ResponseEntity.status(response.getStatusCode())
                         .body(response.getBody());
             }
 
         } catch (Exception e) {
-            System.out.println("❌ Error refreshing token: " + e.getMessage());
+            log.warn("❌ Error refreshing token: {}", e.getMessage());
 
             // Fallback для тестовых токенов
             if (refreshToken.startsWith("test-refresh-token-")) {
-                Map<String, Object> result = new HashMap<>();
-                result.put("accessToken", "refreshed-test-token-" + System.currentTimeMillis());
-                result.put("refreshToken", "new-test-refresh-" + System.currentTimeMillis());
-                result.put("expiresIn", 3600);
-                result.put("tokenType", "Bearer");
-                result.put("message", "Token refreshed (TEST MODE)");
+                long now = System.currentTimeMillis();
+                LoginResponse result = new LoginResponse(
+                        "refreshed-test-token-" + now,
+                        "new-test-refresh-" + now,
+                        3600L,
+                        null,
+                        "Bearer",
+                        null,
+                        "Token refreshed (TEST MODE)",
+                        null);
 
                 return ResponseEntity.ok(result);
             }
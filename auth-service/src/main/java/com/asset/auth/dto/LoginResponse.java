@@ -0,0 +1,44 @@
+package com.asset.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Ответ на успешный логин. Поля с null в JSON не выводятся.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LoginResponse(
+        String accessToken,
+        String refreshToken,
+        Long expiresIn,
+        Long refreshExpiresIn,
+        String tokenType,
+        String scope,
+        String message,
+        String warning) {
+
+    /**
+     * Из ответа token endpoint Keycloak.
+     */
+    public static LoginResponse fromKeycloak(Map<?, ?> tokenData, String message) {
+        return new LoginResponse(
+                (String) tokenData.get("access_token"),
+                (String) tokenData.get("refresh_token"),
+                asLong(tokenData.get("expires_in")),
+                null,
+                (String) tokenData.get("token_type"),
+                (String) tokenData.get("scope"),
+                message,
+                null);
+    }
+
+    public LoginResponse withExpiresIn(long seconds, String newMessage) {
+        return new LoginResponse(accessToken, refreshToken, seconds, refreshExpiresIn,
+                tokenType, scope, newMessage, warning);
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.asset.auth.service;
+
+/**
+ * Проверка логина и пароля до обращения к Keycloak. Реализация по умолчанию -
+ * {@link InMemoryCredentialVerifier}; другое хранилище пользователей
+ * подключается своим бином этого типа вместе с auth.credentials.verifier,
+ * отличным от in-memory.
+ */
+public interface CredentialVerifier {
+
+    boolean verify(String username, String password);
+}
@@ -0,0 +1,50 @@
+package com.asset.auth.service;
+
+import com.asset.common.health.DependencyHealth;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Проверяет Keycloak в фоне по расписанию; health-эндпоинты отдают
+ * последний известный результат и сами никуда не ходят.
+ */
+@Component
+public class HealthMonitor {
+
+    @Autowired
+    private KeycloakClient keycloakClient;
+
+    @Value("${keycloak.enabled:true}")
+    private boolean keycloakEnabled;
+
+    @Value("${auth.fallback.enabled:false}")
+    private boolean fallbackEnabled;
+
+    private volatile DependencyHealth keycloak = DependencyHealth.unknown();
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${health.check-interval-ms:15000}")
+    public void checkKeycloak() {
+        long start = System.nanoTime();
+        try {
+            keycloakClient.openIdConfiguration();
+            keycloak = DependencyHealth.up(elapsedMs(start));
+        } catch (Exception e) {
+            keycloak = DependencyHealth.down(String.valueOf(e.getMessage()), elapsedMs(start));
+        }
+    }
+
+    public DependencyHealth keycloak() {
+        return keycloak;
+    }
+
+    // Готов принимать логины: Keycloak доступен либо есть деградированный режим
+    public boolean isReady() {
+        return !keycloakEnabled || fallbackEnabled || keycloak.isUp();
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,54 @@
+package com.asset.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Локальные пользователи из свойства auth.local-users
+ * ({@code login:password,login:password}). Пароли хранятся как SHA-256 с
+ * солью экземпляра и сравниваются за постоянное время; для неизвестного
+ * пользователя сравнение тоже выполняется, чтобы время ответа не выдавало,
+ * существует ли логин.
+ */
+public class InMemoryCredentialVerifier implements CredentialVerifier {
+
+    private final byte[] salt = new byte[16];
+    private final Map<String, byte[]> passwordHashes = new HashMap<>();
+    private final byte[] unknownUserHash;
+
+    public InMemoryCredentialVerifier(String users) {
+        new SecureRandom().nextBytes(salt);
+        for (String entry : users.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            passwordHashes.put(entry.substring(0, separator).trim(), hash(entry.substring(separator + 1).trim()));
+        }
+        unknownUserHash = hash("");
+    }
+
+    @Override
+    public boolean verify(String username, String password) {
+        if (username == null || password == null) {
+            return false;
+        }
+        byte[] expected = passwordHashes.get(username);
+        boolean match = MessageDigest.isEqual(expected != null ? expected : unknownUserHash, hash(password));
+        return expected != null && match;
+    }
+
+    private byte[] hash(String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            return digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.asset.auth.service;
+
+/**
+ * Claims access-токена, которые нужны /api/auth/me. Отсутствующие - null.
+ */
+public record JwtClaims(
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        String issuer,
+        Long expiresAt,
+        Long issuedAt) {
+}
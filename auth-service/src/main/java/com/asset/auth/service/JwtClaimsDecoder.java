@@ -0,0 +1,93 @@
+package com.asset.auth.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Разбор payload JWT потоковым парсером Jackson без проверки подписи.
+ * Читаются только нужные claims верхнего уровня, остальные значения
+ * (массивы, вложенные объекты) пропускаются без создания объектов.
+ *
+ * Используется только как fallback, когда JWKS недоступен: результат годится
+ * лишь для отображения и не подтверждает ни подпись, ни срок действия.
+ */
+public final class JwtClaimsDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private JwtClaimsDecoder() {
+    }
+
+    /**
+     * @return claims или null, если токен не похож на JWT или payload не JSON-объект
+     */
+    public static JwtClaims decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || secondDot == firstDot + 1) {
+            return null;
+        }
+
+        try {
+            byte[] payload = BASE64_URL.decode(token.substring(firstDot + 1, secondDot));
+            return parse(payload);
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    static JwtClaims parse(byte[] payload) throws IOException {
+        String username = null;
+        String email = null;
+        String firstName = null;
+        String lastName = null;
+        String issuer = null;
+        Long expiresAt = null;
+        Long issuedAt = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "preferred_username" -> username = text(parser, value);
+                    case "email" -> email = text(parser, value);
+                    case "given_name" -> firstName = text(parser, value);
+                    case "family_name" -> lastName = text(parser, value);
+                    case "iss" -> issuer = text(parser, value);
+                    case "exp" -> expiresAt = number(parser, value);
+                    case "iat" -> issuedAt = number(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new JwtClaims(username, email, firstName, lastName, issuer, expiresAt, issuedAt);
+    }
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Long number(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getValueAsLong();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
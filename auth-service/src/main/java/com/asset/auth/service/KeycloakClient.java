@@ -0,0 +1,205 @@
+package com.asset.auth.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Все HTTP-вызовы auth-service в Keycloak. Идут через общий пул соединений
+ * из {@link com.asset.auth.config.KeycloakHttpClientConfig}.
+ *
+ * Запросы к token/introspect защищены bulkhead (лимит одновременных вызовов)
+ * и circuit breaker: когда Keycloak недоступен, вызовы сразу отклоняются
+ * с {@link CallNotPermittedException} или {@link BulkheadFullException},
+ * а после паузы breaker пропускает пробные запросы (half-open).
+ */
+@Service
+public class KeycloakClient {
+
+    public static final String REQUEST_TIMER = "keycloak.client.requests";
+
+    @Autowired
+    private RestTemplate keycloakRestTemplate;
+
+    @Autowired
+    private PoolingHttpClientConnectionManager keycloakConnectionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${keycloak.url:http://localhost:8180}")
+    private String keycloakBaseUrl;
+
+    @Value("${keycloak.realm:asset-management}")
+    private String realm;
+
+    @Value("${keycloak.client-id:asset-backend}")
+    private String clientId;
+
+    @Value("${keycloak.client-secret:backend-secret}")
+    private String clientSecret;
+
+    @Value("${keycloak.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${keycloak.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${keycloak.circuit-breaker.minimum-calls:10}")
+    private int minimumNumberOfCalls;
+
+    @Value("${keycloak.circuit-breaker.open-state-seconds:10}")
+    private long openStateSeconds;
+
+    @Value("${keycloak.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    @Value("${keycloak.bulkhead.max-concurrent-calls:50}")
+    private int maxConcurrentCalls;
+
+    @Value("${keycloak.bulkhead.max-wait-ms:100}")
+    private long bulkheadMaxWaitMs;
+
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+
+    @PostConstruct
+    void init() {
+        circuitBreaker = CircuitBreaker.of("keycloak", CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(Duration.ofSeconds(openStateSeconds))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 4xx - это ответ живого Keycloak (неверный пароль, истёкший refresh), а не отказ
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+
+        bulkhead = Bulkhead.of("keycloak", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(bulkheadMaxWaitMs))
+                .build());
+    }
+
+    public ResponseEntity<Map> passwordGrant(String username, String password) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("client_id", clientId);
+        params.add("client_secret", clientSecret);
+        params.add("username", username);
+        params.add("password", password);
+        params.add("grant_type", "password");
+        params.add("scope", "openid");
+
+        return guarded("password_grant", () -> postForm(tokenUrl(), params));
+    }
+
+    public ResponseEntity<Map> refreshGrant(String refreshToken) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("client_id", clientId);
+        params.add("client_secret", clientSecret);
+        params.add("refresh_token", refreshToken);
+        params.add("grant_type", "refresh_token");
+
+        return guarded("refresh_grant", () -> postForm(tokenUrl(), params));
+    }
+
+    public ResponseEntity<Map> introspect(String token) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("client_id", clientId);
+        params.add("client_secret", clientSecret);
+        params.add("token", token);
+
+        return guarded("introspect", () -> postForm(tokenUrl() + "/introspect", params));
+    }
+
+    public Map openIdConfiguration() {
+        return timed("openid_configuration", () -> keycloakRestTemplate.getForObject(
+                realmUrl() + "/.well-known/openid-configuration", Map.class));
+    }
+
+    public String clientId() {
+        return clientId;
+    }
+
+    public String tokenUrl() {
+        return realmUrl() + "/protocol/openid-connect/token";
+    }
+
+    public PoolStats poolStats() {
+        return keycloakConnectionManager.getTotalStats();
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    private <T> T guarded(String operation, Supplier<T> call) {
+        // Bulkhead снаружи: отказы из-за переполнения не портят статистику breaker
+        return timed(operation, Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker, call)));
+    }
+
+    // Таймер keycloak.client.requests: время вызова вместе с ожиданием bulkhead и отказами breaker
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        try {
+            return call.get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            outcome = "REJECTED";
+            throw e;
+        } catch (HttpClientErrorException e) {
+            outcome = "CLIENT_ERROR";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "ERROR";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(REQUEST_TIMER)
+                    .description("Outbound calls from auth-service to Keycloak")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String realmUrl() {
+        return keycloakBaseUrl + "/realms/" + realm;
+    }
+
+    private ResponseEntity<Map> postForm(String url, MultiValueMap<String, String> params) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        return keycloakRestTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(params, headers), Map.class);
+    }
+}
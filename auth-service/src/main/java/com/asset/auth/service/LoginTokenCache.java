@@ -0,0 +1,183 @@
+package com.asset.auth.service;
+
+import com.asset.auth.dto.LoginResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Недавно выданные Keycloak пары токенов по (пользователь, клиент). Повторный
+ * логин киоска или сервисной учётки с тем же паролем получает ту же пару
+ * без password grant.
+ *
+ * Запись живёт не дольше auth.login-cache.ttl-seconds и заканчивается раньше
+ * access-токена на min-remaining-seconds. В ключ входит хэш пароля, поэтому
+ * пара выдаётся только тому же паролю. Запись с refresh-токеном удаляется при
+ * его использовании. Неудачный логин кэш не трогает: иначе любой
+ * неаутентифицированный запрос мог бы сбрасывать чужие записи.
+ *
+ * Индексы по пользователю и refresh-токену делают удаление O(1) по числу
+ * записей; при вытеснении их чистит removal listener.
+ */
+@Service
+public class LoginTokenCache {
+
+    private record CachedLogin(String username, LoginResponse response, long accessExpiresAtMillis, long ttlNanos) {
+    }
+
+    private static final char SEPARATOR = '\u0000';
+
+    @Value("${auth.login-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.login-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${auth.login-cache.min-remaining-seconds:30}")
+    private long minRemainingSeconds;
+
+    @Value("${auth.login-cache.max-entries:10000}")
+    private long maxEntries;
+
+    private final byte[] salt = new byte[16];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final Map<String, Set<String>> keysByUser = new ConcurrentHashMap<>();
+    private final Map<String, String> keyByRefreshToken = new ConcurrentHashMap<>();
+
+    private Cache<String, CachedLogin> cache;
+
+    @PostConstruct
+    public void init() {
+        new SecureRandom().nextBytes(salt);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, CachedLogin>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedLogin value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedLogin value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedLogin value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // Синхронно, чтобы индексы не отставали от кэша
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    /**
+     * @return ранее выданная пара с пересчитанным expiresIn или null
+     */
+    public LoginResponse get(String username, String clientId, String password) {
+        if (!enabled) {
+            return null;
+        }
+        CachedLogin cached = cache.getIfPresent(key(username, clientId, password));
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        long remainingSeconds = (cached.accessExpiresAtMillis() - System.currentTimeMillis()) / 1000;
+        return cached.response().withExpiresIn(remainingSeconds, "SUCCESS - Cached token from Keycloak");
+    }
+
+    public void put(String username, String clientId, String password, LoginResponse response) {
+        if (!enabled || response.expiresIn() == null) {
+            return;
+        }
+        long lifetimeSeconds = Math.min(ttlSeconds, response.expiresIn() - minRemainingSeconds);
+        if (lifetimeSeconds <= 0) {
+            return;
+        }
+        long accessExpiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(response.expiresIn());
+        String key = key(username, clientId, password);
+        cache.put(key, new CachedLogin(username, response, accessExpiresAt, TimeUnit.SECONDS.toNanos(lifetimeSeconds)));
+        keysByUser.computeIfAbsent(username, user -> ConcurrentHashMap.newKeySet()).add(key);
+        if (response.refreshToken() != null) {
+            keyByRefreshToken.put(response.refreshToken(), key);
+        }
+    }
+
+    /**
+     * Все записи пользователя - например, после смены пароля. Вызывать только
+     * для уже аутентифицированного пользователя.
+     */
+    public void invalidateUser(String username) {
+        Set<String> keys = keysByUser.remove(username);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    public void invalidateRefreshToken(String refreshToken) {
+        String key = keyByRefreshToken.remove(refreshToken);
+        if (key != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void onRemoval(String key, CachedLogin value, RemovalCause cause) {
+        if (key == null || value == null) {
+            return;
+        }
+        if (value.response().refreshToken() != null) {
+            keyByRefreshToken.remove(value.response().refreshToken(), key);
+        }
+        // При замене ключ остаётся в кэше с новой парой
+        if (cause != RemovalCause.REPLACED) {
+            keysByUser.computeIfPresent(value.username(), (user, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private String key(String username, String clientId, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            byte[] passwordHash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
+            return username + SEPARATOR + clientId + SEPARATOR + HexFormat.of().formatHex(passwordHash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.asset.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight для обновления токена: одновременные запросы с одним и тем же
+ * refresh-токеном (несколько вкладок SPA) делают один вызов Keycloak и
+ * получают один результат.
+ *
+ * Идущие вызовы лежат в обычной карте и удаляются по завершении, сколько бы
+ * ни длился запрос к Keycloak. Успешный результат затем ещё короткое время
+ * отдаётся по старому refresh-токену из отдельного кэша: Keycloak его уже
+ * ротировал, и запоздавшая вкладка иначе получила бы ошибку.
+ * Ошибки не запоминаются - следующий запрос снова идёт в Keycloak.
+ */
+@Service
+public class TokenRefreshCoalescer {
+
+    @Autowired
+    private KeycloakClient keycloakClient;
+
+    @Value("${auth.refresh.coalesce-grace-ms:2000}")
+    private long graceMs;
+
+    @Value("${auth.refresh.coalesce-max-entries:10000}")
+    private long maxEntries;
+
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    // Ключ - SHA-256 refresh-токена, сам токен в памяти не храним
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Map>>> inFlight = new ConcurrentHashMap<>();
+
+    // Недавние успешные ответы на время grace-окна
+    private Cache<String, ResponseEntity<Map>> recent;
+
+    @PostConstruct
+    public void init() {
+        recent = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(graceMs))
+                .build();
+    }
+
+    public ResponseEntity<Map> refresh(String refreshToken) {
+        String key = sha256(refreshToken);
+        ResponseEntity<Map> cached = recent.getIfPresent(key);
+        if (cached != null) {
+            coalescedCalls.increment();
+            return cached;
+        }
+
+        CompletableFuture<ResponseEntity<Map>> created = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Map>> existing = inFlight.putIfAbsent(key, created);
+
+        if (existing != null) {
+            coalescedCalls.increment();
+            return await(existing);
+        }
+
+        upstreamCalls.increment();
+        try {
+            ResponseEntity<Map> response = keycloakClient.refreshGrant(refreshToken);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                // В кэш до удаления из inFlight: опоздавший запрос найдёт ответ хотя бы в одном месте
+                recent.put(key, response);
+            }
+            inFlight.remove(key, created);
+            created.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+                "upstreamCalls", upstreamCalls.sum(),
+                "coalescedCalls", coalescedCalls.sum(),
+                "inFlight", inFlight.size(),
+                "recent", recent.estimatedSize()
+        );
+    }
+
+    // Ожидающие получают то же исключение, что и первый запрос
+    private static ResponseEntity<Map> await(CompletableFuture<ResponseEntity<Map>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
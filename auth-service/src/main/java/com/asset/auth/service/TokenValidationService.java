@@ -0,0 +1,93 @@
+package com.asset.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Проверка access-токенов: подпись и сроки проверяются локально по JWKS,
+ * удалённая интроспекция в Keycloak - только опциональная проверка отзыва,
+ * её результат кэшируется на короткое время по хэшу токена.
+ */
+@Service
+public class TokenValidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenValidationService.class);
+
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @Autowired
+    private KeycloakClient keycloakClient;
+
+    @Value("${auth.introspection.enabled:false}")
+    private boolean introspectionEnabled;
+
+    @Value("${auth.introspection.cache-ttl-seconds:30}")
+    private long introspectionCacheTtlSeconds;
+
+    @Value("${auth.introspection.cache-max-size:10000}")
+    private long introspectionCacheMaxSize;
+
+    private Cache<String, Boolean> introspectionCache;
+
+    @PostConstruct
+    void init() {
+        introspectionCache = Caffeine.newBuilder()
+                .maximumSize(introspectionCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(introspectionCacheTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Локальная проверка подписи, exp/nbf. Бросает BadJwtException для
+     * невалидного токена и JwtException, если ключи недоступны.
+     */
+    public Jwt decode(String token) {
+        return jwtDecoder.decode(token);
+    }
+
+    /**
+     * Проверка отзыва через интроспекцию. Если она выключена или Keycloak
+     * недоступен, полагаемся на локальную проверку подписи.
+     */
+    public boolean isActive(String token) {
+        if (!introspectionEnabled) {
+            return true;
+        }
+        try {
+            return introspectionCache.get(sha256(token), key -> introspect(token));
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Token introspection failed: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private boolean introspect(String token) {
+        Map<String, Object> body = keycloakClient.introspect(token).getBody();
+        return body != null && Boolean.TRUE.equals(body.get("active"));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
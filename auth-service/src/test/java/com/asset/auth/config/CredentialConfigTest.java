@@ -0,0 +1,50 @@
+package com.asset.auth.config;
+
+import com.asset.auth.service.CredentialVerifier;
+import com.asset.auth.service.InMemoryCredentialVerifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner();
+
+    @Test
+    void inMemoryVerifierByDefault() {
+        runner.withUserConfiguration(CredentialConfig.class)
+                .withPropertyValues("auth.local-users=alice:secret")
+                .run(context -> {
+                    CredentialVerifier verifier = context.getBean(CredentialVerifier.class);
+                    assertThat(verifier).isInstanceOf(InMemoryCredentialVerifier.class);
+                    assertThat(verifier.verify("alice", "secret")).isTrue();
+                });
+    }
+
+    @Test
+    void pluggedVerifierReplacesDefaultRegardlessOfRegistrationOrder() {
+        runner.withUserConfiguration(DirectoryVerifierConfig.class, CredentialConfig.class)
+                .withPropertyValues("auth.credentials.verifier=directory")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(CredentialVerifier.class);
+                    assertThat(context.getBean(CredentialVerifier.class)).isSameAs(DirectoryVerifierConfig.VERIFIER);
+                });
+        runner.withUserConfiguration(CredentialConfig.class, DirectoryVerifierConfig.class)
+                .withPropertyValues("auth.credentials.verifier=directory")
+                .run(context -> assertThat(context).hasSingleBean(CredentialVerifier.class));
+    }
+
+    @Configuration
+    static class DirectoryVerifierConfig {
+
+        static final CredentialVerifier VERIFIER = (username, password) -> "ldap".equals(username);
+
+        @Bean
+        CredentialVerifier directoryCredentialVerifier() {
+            return VERIFIER;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.asset.auth.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class JwtConfigTest {
+
+    private static final String CERTS_URL = "http://keycloak/realms/test/protocol/openid-connect/certs";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer keycloak = MockRestServiceServer.bindTo(restTemplate).build();
+    private RSAKey signingKey;
+    private JwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID("k1").generate();
+
+        JwtConfig config = new JwtConfig();
+        ReflectionTestUtils.setField(config, "keycloakBaseUrl", "http://keycloak");
+        ReflectionTestUtils.setField(config, "realm", "test");
+        ReflectionTestUtils.setField(config, "jwksRefreshSeconds", 300L);
+        decoder = config.jwtDecoder(restTemplate);
+    }
+
+    @Test
+    void jwksIsFetchedOnceForManyTokens() throws JOSEException {
+        keycloak.expect(ExpectedCount.once(), requestTo(CERTS_URL))
+                .andRespond(withSuccess(jwks(), MediaType.APPLICATION_JSON));
+
+        assertThat(decoder.decode(token("alice", Instant.now().plusSeconds(300))).getSubject()).isEqualTo("alice");
+        assertThat(decoder.decode(token("bob", Instant.now().plusSeconds(300))).getSubject()).isEqualTo("bob");
+
+        keycloak.verify();
+    }
+
+    @Test
+    void expiredOrForeignTokensAreRejected() throws JOSEException {
+        keycloak.expect(ExpectedCount.manyTimes(), requestTo(CERTS_URL))
+                .andRespond(withSuccess(jwks(), MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> decoder.decode(token("alice", Instant.now().minusSeconds(600))))
+                .isInstanceOf(BadJwtException.class);
+
+        signingKey = new RSAKeyGenerator(2048).keyID("k1").generate();
+        String foreign = token("mallory", Instant.now().plusSeconds(300));
+        assertThatThrownBy(() -> decoder.decode(foreign)).isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void unavailableJwksIsNotReportedAsBadToken() throws JOSEException {
+        keycloak.expect(requestTo(CERTS_URL)).andRespond(withServerError());
+
+        // Контроллер отличает недоступные ключи (fallback) от невалидного токена (401)
+        assertThatThrownBy(() -> decoder.decode(token("alice", Instant.now().plusSeconds(300))))
+                .isInstanceOf(JwtException.class)
+                .isNotInstanceOf(BadJwtException.class);
+    }
+
+    private String jwks() {
+        return new JWKSet(signingKey.toPublicJWK()).toString();
+    }
+
+    private String token(String subject, Instant expiresAt) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issueTime(Date.from(expiresAt.minusSeconds(600)))
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+                claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+}
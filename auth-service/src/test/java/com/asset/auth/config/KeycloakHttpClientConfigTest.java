@@ -0,0 +1,114 @@
+package com.asset.auth.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeycloakHttpClientConfigTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private final CountDownLatch slowStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/fast", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            slowStarted.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        release.countDown();
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void slowResponseFailsAfterReadTimeout() {
+        RestTemplate restTemplate = restTemplate(300, 1000, 10);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> restTemplate.getForObject(baseUrl + "/slow", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(3000);
+    }
+
+    @Test
+    void exhaustedPoolFailsAfterAcquireTimeoutAndConnectionsAreReused() throws Exception {
+        RestTemplate restTemplate = restTemplate(5000, 200, 1);
+
+        assertThat(restTemplate.getForObject(baseUrl + "/fast", String.class)).isEqualTo("{}");
+        assertThat(restTemplate.getForObject(baseUrl + "/fast", String.class)).isEqualTo("{}");
+        // Keep-alive: оба запроса прошли через одно соединение
+        assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+
+        // Единственное соединение маршрута занято медленным запросом
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(
+                () -> restTemplate.getForObject(baseUrl + "/slow", String.class));
+        assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> restTemplate.getForObject(baseUrl + "/fast", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2000);
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+    }
+
+    private RestTemplate restTemplate(long readTimeoutMs, long acquireTimeoutMs, int maxPerRoute) {
+        KeycloakHttpClientConfig config = new KeycloakHttpClientConfig();
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", readTimeoutMs);
+        ReflectionTestUtils.setField(config, "poolAcquireTimeoutMs", acquireTimeoutMs);
+        ReflectionTestUtils.setField(config, "maxConnections", 10);
+        ReflectionTestUtils.setField(config, "maxConnectionsPerRoute", maxPerRoute);
+        ReflectionTestUtils.setField(config, "idleEvictSeconds", 30L);
+
+        connectionManager = config.keycloakConnectionManager();
+        httpClient = config.keycloakHttpClient(connectionManager);
+        return config.keycloakRestTemplate(new RestTemplateBuilder(), httpClient);
+    }
+}
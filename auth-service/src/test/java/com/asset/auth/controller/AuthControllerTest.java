@@ -0,0 +1,65 @@
+package com.asset.auth.controller;
+
+import com.asset.auth.service.TokenValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthControllerTest {
+
+    private final TokenValidationService tokenValidationService = mock(TokenValidationService.class);
+    private final AuthController controller = new AuthController();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(controller, "tokenValidationService", tokenValidationService);
+    }
+
+    @Test
+    void unavailableJwksFailsClosedWithDisplayFieldsOnly() {
+        // Подпись не сверяется: подделанный токен с далёким exp
+        String forged = token("{\"preferred_username\":\"admin\",\"exp\":4102444800}");
+        when(tokenValidationService.decode(forged)).thenThrow(new JwtException("JWKS fetch failed"));
+
+        ResponseEntity<?> response = controller.getCurrentUser("Bearer " + forged);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+        Map<?, ?> body = (Map<?, ?>) response.getBody();
+        assertThat(body.get("active")).isEqualTo(false);
+        assertThat(body.get("username")).isEqualTo("admin");
+        assertThat(body.containsKey("exp")).isFalse();
+        verify(tokenValidationService, never()).isActive(forged);
+    }
+
+    @Test
+    void rejectedTokenIsUnauthorized() {
+        String expired = token("{\"preferred_username\":\"admin\",\"exp\":1}");
+        when(tokenValidationService.decode(expired)).thenThrow(new BadJwtException("Jwt expired"));
+
+        ResponseEntity<?> response = controller.getCurrentUser("Bearer " + expired);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private static String token(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".c2ln";
+    }
+}
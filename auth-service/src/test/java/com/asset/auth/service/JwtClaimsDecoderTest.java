@@ -0,0 +1,49 @@
+package com.asset.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtClaimsDecoderTest {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Test
+    void readsTopLevelClaimsAndSkipsNestedValues() {
+        JwtClaims claims = JwtClaimsDecoder.decode(token("{\"exp\":1893456000,\"iat\":1893452400,"
+                + "\"iss\":\"http://keycloak/realms/asset-management\","
+                + "\"realm_access\":{\"roles\":[\"user\"],\"preferred_username\":\"nested\"},"
+                + "\"allowed-origins\":[\"http://localhost:3000\"],"
+                + "\"preferred_username\":\"user\",\"given_name\":\"Иван\",\"family_name\":\"Петров\","
+                + "\"email\":\"user@example.com\"}"));
+
+        assertThat(claims).isEqualTo(new JwtClaims("user", "user@example.com", "Иван", "Петров",
+                "http://keycloak/realms/asset-management", 1893456000L, 1893452400L));
+    }
+
+    @Test
+    void missingOrMistypedClaimsAreNull() {
+        JwtClaims claims = JwtClaimsDecoder.decode(token("{\"preferred_username\":{\"x\":1},\"exp\":\"soon\"}"));
+
+        assertThat(claims).isEqualTo(new JwtClaims(null, null, null, null, null, null, null));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThat(JwtClaimsDecoder.decode(null)).isNull();
+        assertThat(JwtClaimsDecoder.decode("no-dots")).isNull();
+        assertThat(JwtClaimsDecoder.decode("header..signature")).isNull();
+        assertThat(JwtClaimsDecoder.decode("header.%%%.signature")).isNull();
+        assertThat(JwtClaimsDecoder.decode(token("[1, 2]"))).isNull();
+        assertThat(JwtClaimsDecoder.decode(token("{\"exp\":"))).isNull();
+    }
+
+    private static String token(String payload) {
+        return ENCODER.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + ".c2lnbmF0dXJl";
+    }
+}
@@ -0,0 +1,137 @@
+package com.asset.auth.service;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class KeycloakClientTest {
+
+    private static final String TOKEN_URL = "http://keycloak/realms/test/protocol/openid-connect/token";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer keycloak = MockRestServiceServer.bindTo(restTemplate).build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KeycloakClient client = new KeycloakClient();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(client, "keycloakRestTemplate", restTemplate);
+        ReflectionTestUtils.setField(client, "keycloakConnectionManager", mock(PoolingHttpClientConnectionManager.class));
+        ReflectionTestUtils.setField(client, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(client, "keycloakBaseUrl", "http://keycloak");
+        ReflectionTestUtils.setField(client, "realm", "test");
+        ReflectionTestUtils.setField(client, "clientId", "backend");
+        ReflectionTestUtils.setField(client, "clientSecret", "secret");
+        ReflectionTestUtils.setField(client, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(client, "slidingWindowSize", 4);
+        ReflectionTestUtils.setField(client, "minimumNumberOfCalls", 4);
+        ReflectionTestUtils.setField(client, "openStateSeconds", 60L);
+        ReflectionTestUtils.setField(client, "halfOpenCalls", 1);
+        ReflectionTestUtils.setField(client, "maxConcurrentCalls", 1);
+        ReflectionTestUtils.setField(client, "bulkheadMaxWaitMs", 0L);
+        client.init();
+    }
+
+    @Test
+    void serverErrorsOpenBreakerAndLaterCallsFailFast() {
+        keycloak.expect(ExpectedCount.times(4), requestTo(TOKEN_URL)).andRespond(withServerError());
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.refreshGrant("r")).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        assertThat(client.circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        // Пятый вызов до Keycloak не доходит
+        assertThatThrownBy(() -> client.passwordGrant("alice", "pw")).isInstanceOf(CallNotPermittedException.class);
+        keycloak.verify();
+    }
+
+    @Test
+    void rejectedCredentialsDoNotCountAsFailures() {
+        keycloak.expect(ExpectedCount.times(6), requestTo(TOKEN_URL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_FORM_URLENCODED))
+                .andRespond(withStatus(HttpStatus.UNAUTHORIZED));
+
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> client.passwordGrant("alice", "wrong"))
+                    .isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(client.circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(client.circuitBreaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutCallingKeycloak() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        keycloak.expect(ExpectedCount.once(), requestTo(TOKEN_URL)).andRespond(request -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return withSuccess("{}", MediaType.APPLICATION_JSON).createResponse(request);
+        });
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> client.refreshGrant("r1"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> client.refreshGrant("r2")).isInstanceOf(BulkheadFullException.class);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        keycloak.verify();
+        // Отказ bulkhead не попадает в статистику breaker
+        assertThat(client.circuitBreaker().getMetrics().getNumberOfBufferedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void callsAreTimedByOperationAndOutcome() {
+        keycloak.expect(requestTo(TOKEN_URL)).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        keycloak.expect(requestTo(TOKEN_URL)).andRespond(withStatus(HttpStatus.BAD_REQUEST));
+        keycloak.expect(requestTo(TOKEN_URL + "/introspect")).andRespond(withServerError());
+
+        client.passwordGrant("alice", "pw");
+        assertThatThrownBy(() -> client.refreshGrant("expired")).isInstanceOf(HttpClientErrorException.class);
+        assertThatThrownBy(() -> client.introspect("t")).isInstanceOf(HttpServerErrorException.class);
+        client.circuitBreaker().transitionToOpenState();
+        assertThatThrownBy(() -> client.refreshGrant("r")).isInstanceOf(CallNotPermittedException.class);
+
+        assertThat(timerCount("password_grant", "SUCCESS")).isEqualTo(1);
+        assertThat(timerCount("refresh_grant", "CLIENT_ERROR")).isEqualTo(1);
+        assertThat(timerCount("introspect", "ERROR")).isEqualTo(1);
+        assertThat(timerCount("refresh_grant", "REJECTED")).isEqualTo(1);
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get(KeycloakClient.REQUEST_TIMER).tag("operation", operation).tag("outcome", outcome)
+                .timer().count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.asset.auth.service;
+
+import com.asset.auth.dto.LoginResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginTokenCacheTest {
+
+    private final LoginTokenCache cache = new LoginTokenCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "minRemainingSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100L);
+        cache.init();
+    }
+
+    @Test
+    void returnsPairOnlyForSamePassword() {
+        cache.put("kiosk", "web", "secret", response("r1"));
+
+        assertThat(cache.get("kiosk", "web", "secret").refreshToken()).isEqualTo("r1");
+        assertThat(cache.get("kiosk", "web", "other")).isNull();
+        assertThat(cache.get("kiosk", "mobile", "secret")).isNull();
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shortLivedTokensAreNotCached() {
+        cache.put("kiosk", "web", "secret", new LoginResponse("a", "r", 20L, 60L, "Bearer", null, null, null));
+
+        assertThat(cache.get("kiosk", "web", "secret")).isNull();
+    }
+
+    @Test
+    void invalidateUserRemovesOnlyThatUsersEntries() {
+        cache.put("kiosk", "web", "secret", response("r1"));
+        cache.put("kiosk", "mobile", "secret", response("r2"));
+        cache.put("service", "web", "secret", response("r3"));
+
+        cache.invalidateUser("kiosk");
+
+        assertThat(cache.get("kiosk", "web", "secret")).isNull();
+        assertThat(cache.get("kiosk", "mobile", "secret")).isNull();
+        assertThat(cache.get("service", "web", "secret")).isNotNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void usedRefreshTokenRemovesItsEntry() {
+        cache.put("kiosk", "web", "secret", response("r1"));
+        cache.put("kiosk", "mobile", "secret", response("r2"));
+
+        cache.invalidateRefreshToken("r1");
+        cache.invalidateRefreshToken("unknown");
+
+        assertThat(cache.get("kiosk", "web", "secret")).isNull();
+        assertThat(cache.get("kiosk", "mobile", "secret")).isNotNull();
+    }
+
+    @Test
+    void replacedEntryKeepsIndexesConsistent() {
+        cache.put("kiosk", "web", "secret", response("r1"));
+        cache.put("kiosk", "web", "secret", response("r2"));
+
+        // Старый refresh-токен больше не указывает на запись
+        cache.invalidateRefreshToken("r1");
+        assertThat(cache.get("kiosk", "web", "secret").refreshToken()).isEqualTo("r2");
+
+        cache.invalidateUser("kiosk");
+        assertThat(cache.get("kiosk", "web", "secret")).isNull();
+    }
+
+    private static LoginResponse response(String refreshToken) {
+        return new LoginResponse("access-" + refreshToken, refreshToken, 300L, 1800L, "Bearer",
+                "openid", "SUCCESS", null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.asset.auth.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRefreshCoalescerTest {
+
+    private static final ResponseEntity<Map> OK = ResponseEntity.ok(Map.of("access_token", "a2"));
+
+    private final KeycloakClient keycloakClient = mock(KeycloakClient.class);
+    private final TokenRefreshCoalescer coalescer = new TokenRefreshCoalescer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coalescer, "keycloakClient", keycloakClient);
+        ReflectionTestUtils.setField(coalescer, "graceMs", 100L);
+        ReflectionTestUtils.setField(coalescer, "maxEntries", 100L);
+        coalescer.init();
+    }
+
+    @Test
+    void slowUpstreamCallIsSharedLongerThanGraceWindow() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(keycloakClient.refreshGrant("r1")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return OK;
+        });
+
+        CompletableFuture<ResponseEntity<Map>> first = CompletableFuture.supplyAsync(() -> coalescer.refresh("r1"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // Вызов идёт дольше grace-окна - запись в inFlight не должна пропасть
+        Thread.sleep(300);
+        CompletableFuture<ResponseEntity<Map>> second = CompletableFuture.supplyAsync(() -> coalescer.refresh("r1"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (((Number) coalescer.stats().get("coalescedCalls")).longValue() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(OK);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(OK);
+        verify(keycloakClient, times(1)).refreshGrant("r1");
+        assertThat(coalescer.stats()).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void successIsReplayedOnlyWithinGraceWindow() throws Exception {
+        when(keycloakClient.refreshGrant("r1")).thenReturn(OK);
+
+        assertThat(coalescer.refresh("r1")).isSameAs(OK);
+        assertThat(coalescer.refresh("r1")).isSameAs(OK);
+        verify(keycloakClient, times(1)).refreshGrant("r1");
+
+        Thread.sleep(200);
+        coalescer.refresh("r1");
+        verify(keycloakClient, times(2)).refreshGrant("r1");
+    }
+
+    @Test
+    void failuresAreNotRemembered() {
+        when(keycloakClient.refreshGrant("bad"))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST))
+                .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).build())
+                .thenReturn(OK);
+
+        assertThatThrownBy(() -> coalescer.refresh("bad")).isInstanceOf(HttpClientErrorException.class);
+        assertThat(coalescer.refresh("bad").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(coalescer.refresh("bad")).isSameAs(OK);
+        verify(keycloakClient, times(3)).refreshGrant("bad");
+        assertThat(coalescer.stats()).containsEntry("inFlight", 0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.asset.auth.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TokenValidationServiceTest {
+
+    private final KeycloakClient keycloakClient = mock(KeycloakClient.class);
+    private final TokenValidationService service = new TokenValidationService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "jwtDecoder", mock(JwtDecoder.class));
+        ReflectionTestUtils.setField(service, "keycloakClient", keycloakClient);
+        ReflectionTestUtils.setField(service, "introspectionEnabled", true);
+        ReflectionTestUtils.setField(service, "introspectionCacheTtlSeconds", 30L);
+        ReflectionTestUtils.setField(service, "introspectionCacheMaxSize", 100L);
+        service.init();
+    }
+
+    @Test
+    void disabledIntrospectionNeverCallsKeycloak() {
+        ReflectionTestUtils.setField(service, "introspectionEnabled", false);
+
+        assertThat(service.isActive("t1")).isTrue();
+        verifyNoInteractions(keycloakClient);
+    }
+
+    @Test
+    void introspectionResultIsCachedPerToken() {
+        when(keycloakClient.introspect("t1")).thenReturn(ResponseEntity.ok(Map.of("active", true)));
+        when(keycloakClient.introspect("revoked")).thenReturn(ResponseEntity.ok(Map.of("active", false)));
+
+        assertThat(service.isActive("t1")).isTrue();
+        assertThat(service.isActive("t1")).isTrue();
+        assertThat(service.isActive("revoked")).isFalse();
+        assertThat(service.isActive("revoked")).isFalse();
+
+        verify(keycloakClient, times(1)).introspect("t1");
+        verify(keycloakClient, times(1)).introspect("revoked");
+    }
+
+    @Test
+    void unavailableKeycloakFallsBackToSignatureCheckAndIsNotCached() {
+        when(keycloakClient.introspect("t1"))
+                .thenThrow(new ResourceAccessException("connect timed out"))
+                .thenReturn(ResponseEntity.ok(Map.of("active", false)));
+
+        assertThat(service.isActive("t1")).isTrue();
+        assertThat(service.isActive("t1")).isFalse();
+    }
+}
@@ -0,0 +1,160 @@
+package com.asset.benchmarks;
+
+import com.asset.assets.model.Asset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Классификация актива строками (как до перехода на enum) против SMALLINT-кодов
+ * в H2: одна и та же выборка "конфиденциальность не ниже HIGH" и GROUP BY
+ * для агрегатов. Объём обеих таблиц печатается при подготовке; для PostgreSQL
+ * размер строк и индексов считает scripts/asset-storage-size.sql.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AssetClassificationStorageBenchmark {
+
+    private static final String LEGACY_COLUMNS = "category VARCHAR(255), status VARCHAR(255), "
+            + "confidentiality VARCHAR(255), integrity VARCHAR(255), availability VARCHAR(255)";
+    private static final String COMPACT_COLUMNS = "category SMALLINT, status SMALLINT, "
+            + "confidentiality SMALLINT, integrity SMALLINT, availability SMALLINT";
+
+    private static final String GROUP_BY = " GROUP BY category, status, confidentiality, integrity, availability";
+
+    @Param({"100000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement legacyRange;
+    private PreparedStatement compactRange;
+    private PreparedStatement legacyGroupBy;
+    private PreparedStatement compactGroupBy;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:classification;DB_CLOSE_DELAY=-1", "sa", "");
+        List<Asset> assets = BenchmarkData.assets(rows);
+        createTable("assets_legacy", LEGACY_COLUMNS);
+        createTable("assets_compact", COMPACT_COLUMNS);
+        load("assets_legacy", assets, false);
+        load("assets_compact", assets, true);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"ASSETS_LEGACY", "ASSETS_COMPACT"}) {
+                try (ResultSet rs = statement.executeQuery("SELECT DISK_SPACE_USED('" + table + "')")) {
+                    rs.next();
+                    System.out.printf("%n%s: %d rows, %d bytes with indexes%n", table, rows, rs.getLong(1));
+                }
+            }
+        }
+
+        legacyRange = connection.prepareStatement("SELECT id, name FROM assets_legacy "
+                + "WHERE confidentiality IN ('HIGH', 'CRITICAL') AND status = 'ACTIVE' ORDER BY id LIMIT 50");
+        compactRange = connection.prepareStatement("SELECT id, name FROM assets_compact "
+                + "WHERE confidentiality >= 3 AND status = 1 ORDER BY id LIMIT 50");
+        legacyGroupBy = connection.prepareStatement("SELECT category, status, confidentiality, integrity, "
+                + "availability, COUNT(*) FROM assets_legacy" + GROUP_BY);
+        compactGroupBy = connection.prepareStatement("SELECT category, status, confidentiality, integrity, "
+                + "availability, COUNT(*) FROM assets_compact" + GROUP_BY);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int legacyHighConfidentiality() throws SQLException {
+        return consume(legacyRange);
+    }
+
+    @Benchmark
+    public int compactHighConfidentiality() throws SQLException {
+        return consume(compactRange);
+    }
+
+    @Benchmark
+    public int legacyCountByClassification() throws SQLException {
+        return consume(legacyGroupBy);
+    }
+
+    @Benchmark
+    public int compactCountByClassification() throws SQLException {
+        return consume(compactGroupBy);
+    }
+
+    private void createTable(String table, String classificationColumns) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, name VARCHAR(255), "
+                    + "description VARCHAR(255), owner VARCHAR(255), " + classificationColumns + ")");
+            statement.execute("CREATE INDEX idx_" + table + "_status_id ON " + table + " (status, id)");
+            statement.execute("CREATE INDEX idx_" + table + "_confidentiality_id ON " + table
+                    + " (confidentiality, id)");
+        }
+    }
+
+    private void load(String table, List<Asset> assets, boolean compact) throws SQLException {
+        String sql = "INSERT INTO " + table + " (id, name, description, owner, category, status, "
+                + "confidentiality, integrity, availability) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < assets.size(); i++) {
+                Asset asset = assets.get(i);
+                insert.setLong(1, i + 1);
+                insert.setString(2, asset.getName());
+                insert.setString(3, asset.getDescription());
+                insert.setString(4, asset.getOwner());
+                if (compact) {
+                    insert.setShort(5, asset.getCategory().code());
+                    insert.setShort(6, asset.getStatus().code());
+                    insert.setShort(7, asset.getConfidentiality().code());
+                    insert.setShort(8, asset.getIntegrity().code());
+                    insert.setShort(9, asset.getAvailability().code());
+                } else {
+                    insert.setString(5, asset.getCategory().name());
+                    insert.setString(6, asset.getStatus().name());
+                    insert.setString(7, asset.getConfidentiality().name());
+                    insert.setString(8, asset.getIntegrity().name());
+                    insert.setString(9, asset.getAvailability().name());
+                }
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static int consume(PreparedStatement query) throws SQLException {
+        int count = 0;
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,118 @@
+package com.asset.benchmarks;
+
+import com.asset.assets.dto.AssetCursor;
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.dto.AssetSort;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.CiaLevel;
+import com.asset.assets.repository.AssetRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запросы AssetRepository к встроенной H2 (без кэша Spring: кэш чтения - в
+ * AssetReadCache, а не в репозитории). Поднимается только JPA-часть asset-service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AssetRepositoryBenchmark {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Asset.class)
+    @EnableJpaRepositories(basePackageClasses = AssetRepository.class)
+    static class RepositoryContext {
+    }
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AssetRepository repository;
+    private AssetCursor middleCursor;
+    private AssetFilter ownerFilter;
+    private AssetFilter highConfidentialityFilter;
+    private Long existingId;
+
+    @Setup
+    public void setup() {
+        // Аргументы командной строки перекрывают application.yml из asset-service
+        context = new SpringApplicationBuilder(RepositoryContext.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.open-in-view=false",
+                        "--spring.main.banner-mode=off");
+        repository = context.getBean(AssetRepository.class);
+
+        List<Asset> saved = repository.saveAll(BenchmarkData.assets(rows));
+        Asset middle = saved.get(saved.size() / 2);
+        middleCursor = AssetCursor.after(middle, AssetSort.ID);
+        existingId = middle.getId();
+        ownerFilter = new AssetFilter(null, null, BenchmarkData.owner(7), null, null, null, null, null, null);
+        highConfidentialityFilter = new AssetFilter(null, null, null, null, null, null, CiaLevel.HIGH, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Asset> firstPage() {
+        return repository.findPage(AssetFilter.NONE, AssetSort.ID, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Asset> deepPageByCursor() {
+        return repository.findPage(AssetFilter.NONE, AssetSort.ID, middleCursor, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Asset> ownerFilteredPage() {
+        return repository.findPage(ownerFilter, AssetSort.ID, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Asset> highConfidentialityPage() {
+        return repository.findPage(highConfidentialityFilter, AssetSort.ID, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Asset> findByOwner() {
+        return repository.findByOwner(BenchmarkData.owner(7));
+    }
+
+    @Benchmark
+    public Optional<Asset> findById() {
+        return repository.findById(existingId);
+    }
+}
@@ -0,0 +1,75 @@
+package com.asset.benchmarks;
+
+import com.asset.assets.dto.AssetFilter;
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetSnapshot;
+import com.asset.assets.service.AssetChangedEvent;
+import com.asset.assets.service.AssetSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по индексу AssetSearchIndex без базы: индекс наполняется теми же
+ * событиями, что приходят после записи. Редкий терм - несколько документов,
+ * общий терм совпадает со всеми документами (худший случай для подсчёта фасетов).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AssetSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private AssetSearchIndex index;
+    private AssetFilter ownerFilter;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        index = new AssetSearchIndex();
+        Field facetSize = AssetSearchIndex.class.getDeclaredField("facetSize");
+        facetSize.setAccessible(true);
+        facetSize.setInt(index, 20);
+
+        List<Asset> assets = BenchmarkData.assets(rows);
+        for (int i = 0; i < assets.size(); i++) {
+            Asset asset = assets.get(i);
+            asset.setId((long) i + 1);
+            index.onAssetChanged(new AssetChangedEvent(null, AssetSnapshot.of(asset)));
+        }
+        ownerFilter = new AssetFilter(null, null, BenchmarkData.owner(7), null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public AssetSearchIndex.Result rareTerm() {
+        return index.search("asset 4242", AssetFilter.NONE, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public AssetSearchIndex.Result commonTerm() {
+        return index.search("инвентаризации", AssetFilter.NONE, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public AssetSearchIndex.Result commonTermWithFilter() {
+        return index.search("информационный актив", ownerFilter, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,58 @@
+package com.asset.benchmarks;
+
+import com.asset.assets.dto.AssetCursor;
+import com.asset.assets.dto.AssetPage;
+import com.asset.assets.dto.AssetSort;
+import com.asset.assets.model.Asset;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация страницы GET /api/assets тем же ObjectMapper, что собирает
+ * Spring Boot: размер страницы по умолчанию (50) и максимальный (500).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AssetSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private AssetPage page;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<Asset> items = BenchmarkData.assets(pageSize);
+        Asset last = items.get(items.size() - 1);
+        page = new AssetPage(items, items.size(), true, AssetCursor.after(last, AssetSort.ID).encode());
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,52 @@
+package com.asset.benchmarks;
+
+import com.asset.assets.model.Asset;
+import com.asset.assets.model.AssetCategory;
+import com.asset.assets.model.AssetStatus;
+import com.asset.assets.model.CiaLevel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тестовые активы, похожие на реальные записи реестра.
+ */
+final class BenchmarkData {
+
+    static final int OWNERS = 50;
+
+    private static final AssetCategory[] CATEGORIES = {
+            AssetCategory.SERVER, AssetCategory.WORKSTATION, AssetCategory.NETWORK,
+            AssetCategory.SOFTWARE, AssetCategory.DATA
+    };
+    private static final CiaLevel[] LEVELS = CiaLevel.values();
+
+    private BenchmarkData() {
+    }
+
+    static List<Asset> assets(int count) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Asset> assets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Asset asset = new Asset();
+            asset.setName("asset-" + i);
+            asset.setDescription("Информационный актив №" + i + " для инвентаризации");
+            asset.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            asset.setOwner(owner(i % OWNERS));
+            asset.setStatus(i % 10 == 0 ? AssetStatus.INACTIVE : AssetStatus.ACTIVE);
+            asset.setConfidentiality(LEVELS[i % LEVELS.length]);
+            asset.setIntegrity(LEVELS[(i / 4) % LEVELS.length]);
+            asset.setAvailability(LEVELS[(i / 16) % LEVELS.length]);
+            asset.setLastReview(base.plusDays(i % 365));
+            asset.setCreatedAt(base.plusMinutes(i));
+            asset.setUpdatedAt(base.plusMinutes(i));
+            assets.add(asset);
+        }
+        return assets;
+    }
+
+    static String owner(int index) {
+        return "user-" + index;
+    }
+}
@@ -0,0 +1,95 @@
+package com.asset.benchmarks;
+
+import com.asset.auth.service.JwtClaims;
+import com.asset.auth.service.JwtClaimsDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fallback-разбор JWT в /api/auth/me: прежний split по ',' и ':' против
+ * {@link JwtClaimsDecoder}. Запускать с -prof gc, чтобы видеть аллокации.
+ *
+ * keycloak - токен с вложенными realm_access/resource_access и URL в iss,
+ * на нём прежний способ ещё и возвращает неверные значения.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtClaimsDecoderBenchmark {
+
+    private static final String FLAT_PAYLOAD = "{\"sub\":\"7d3c1c52\",\"preferred_username\":\"user\","
+            + "\"email\":\"user@example.com\",\"exp\":1893456000,\"iat\":1893452400}";
+
+    private static final String KEYCLOAK_PAYLOAD = "{\"exp\":1893456000,\"iat\":1893452400,"
+            + "\"jti\":\"2f4b0c8e-6a55-4c1e-9e0b-b3d7c1c5a9f1\","
+            + "\"iss\":\"http://keycloak:8080/realms/asset-management\",\"aud\":\"account\","
+            + "\"sub\":\"7d3c1c52-2f0e-4a8e-9d55-0c7c5b2f1a11\",\"typ\":\"Bearer\",\"azp\":\"asset-backend\","
+            + "\"session_state\":\"a1b2c3d4\",\"acr\":\"1\",\"allowed-origins\":[\"http://localhost:3000\"],"
+            + "\"realm_access\":{\"roles\":[\"offline_access\",\"uma_authorization\",\"user\"]},"
+            + "\"resource_access\":{\"account\":{\"roles\":[\"manage-account\",\"view-profile\"]}},"
+            + "\"scope\":\"openid profile email\",\"sid\":\"a1b2c3d4\",\"email_verified\":true,"
+            + "\"name\":\"Test User\",\"preferred_username\":\"user\",\"given_name\":\"Test\","
+            + "\"family_name\":\"User\",\"email\":\"user@example.com\"}";
+
+    @Param({"flat", "keycloak"})
+    public String tokenShape;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = "flat".equals(tokenShape) ? FLAT_PAYLOAD : KEYCLOAK_PAYLOAD;
+        token = encoder.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"k1\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                // Подпись не проверяется, важна только длина токена
+                + "." + encoder.encodeToString(new byte[256]);
+    }
+
+    @Benchmark
+    public Map<String, Object> legacySplit() {
+        return legacyDecode(token);
+    }
+
+    @Benchmark
+    public JwtClaims streamingDecoder() {
+        return JwtClaimsDecoder.decode(token);
+    }
+
+    // Прежний AuthController.buildDecodedUserInfo без сборки ответа
+    private static Map<String, Object> legacyDecode(String token) {
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
+        Map<String, Object> payloadMap = new HashMap<>();
+
+        String json = payload.replace("{", "").replace("}", "");
+        String[] pairs = json.split(",");
+        for (String pair : pairs) {
+            String[] keyValue = pair.split(":");
+            if (keyValue.length == 2) {
+                String key = keyValue[0].trim().replace("\"", "");
+                String value = keyValue[1].trim().replace("\"", "");
+                payloadMap.put(key, value);
+            }
+        }
+        return payloadMap;
+    }
+}
@@ -0,0 +1,124 @@
+package com.asset.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Логирование на пути логина: прежние System.out.println (синхронизированы
+ * на одном PrintStream с autoflush, как у System.out) против асинхронного
+ * JSON-логгера с correlationId в MDC, как в logback-spring.xml сервисов.
+ *
+ * Оба варианта пишут в {@code sink} (по умолчанию /dev/null), чтобы мерить
+ * цену для потоков запросов, а не скорость терминала. При neverBlock=true
+ * переполненная очередь отбрасывает события - это конфигурация сервисов;
+ * neverBlock=false показывает пропускную способность без потерь.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoginLoggingBenchmark {
+
+    @Param({"/dev/null"})
+    public String sink;
+
+    @Param({"true", "false"})
+    public boolean neverBlock;
+
+    private PrintStream stdout;
+    private LoggerContext loggerContext;
+    private Logger log;
+
+    @Setup
+    public void setup() throws IOException {
+        // Как System.out: маленький буфер и flush на каждый println
+        stdout = new PrintStream(new BufferedOutputStream(new FileOutputStream(sink), 128),
+                true, StandardCharsets.UTF_8);
+
+        // Контекст из SLF4J, чтобы MDC работал так же, как в сервисах
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setCustomFields("{\"service\":\"auth-service\"}");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> jsonAppender = new OutputStreamAppender<>();
+        jsonAppender.setContext(loggerContext);
+        jsonAppender.setEncoder(encoder);
+        jsonAppender.setOutputStream(new FileOutputStream(sink));
+        jsonAppender.start();
+
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(loggerContext);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.setNeverBlock(neverBlock);
+        asyncAppender.addAppender(jsonAppender);
+        asyncAppender.start();
+
+        log = loggerContext.getLogger("com.asset.auth.controller.AuthController");
+        log.setLevel(Level.INFO);
+        log.setAdditive(false);
+        log.addAppender(asyncAppender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        log.detachAndStopAllAppenders();
+        stdout.close();
+    }
+
+    // Три строки, которые прежний login() печатал на успешный вход
+    @Benchmark
+    public void systemOutLogin() {
+        String username = "user";
+        stdout.println("🚀 LOGIN STARTED for user: " + username);
+        stdout.println("📞 Calling Keycloak: http://keycloak:8080/realms/asset-management/protocol/openid-connect/token");
+        stdout.println("✅ SUCCESS! Got token from Keycloak");
+    }
+
+    @Benchmark
+    public void asyncJsonLogin() {
+        String username = "user";
+        MDC.put("correlationId", UUID.randomUUID().toString());
+        try {
+            log.info("🚀 Login started for user: {}", username);
+            log.debug("📞 Calling Keycloak: {}", "http://keycloak:8080/realms/asset-management/protocol/openid-connect/token");
+            log.info("✅ Got token from Keycloak for user: {}", username);
+        } finally {
+            MDC.remove("correlationId");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.asset.benchmarks;
+
+import com.asset.common.security.GatewayPrincipal;
+import com.asset.common.security.PrincipalHeaderCodec;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цена аутентификации одного запроса в asset-service.
+ *
+ * До: каждый сервис разбирает JWT и проверяет RS256-подпись
+ * (NimbusJwtDecoder с уже загруженным ключом, без похода за JWKS).
+ * После: api-gateway проверил токен, сервис проверяет только HMAC
+ * заголовка {@value PrincipalHeaderCodec#HEADER}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PrincipalAuthBenchmark {
+
+    private NimbusJwtDecoder jwtDecoder;
+    private String token;
+
+    private PrincipalHeaderCodec codec;
+    private String principalHeader;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException, JOSEException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        Instant exp = Instant.now().plusSeconds(3600);
+        // Набор claims как у access-токена Keycloak
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("7d3c1c52-2f0e-4a8e-9d55-0c7c5b2f1a11")
+                .issuer("http://keycloak:8080/realms/asset-management")
+                .audience("account")
+                .issueTime(new Date())
+                .expirationTime(Date.from(exp))
+                .claim("preferred_username", "user")
+                .claim("email", "user@example.com")
+                .claim("realm_access", Map.of("roles", List.of("USER", "offline_access")))
+                .claim("scope", "openid profile email")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+        jwt.sign(new RSASSASigner(keyPair.getPrivate()));
+        token = jwt.serialize();
+        jwtDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+
+        codec = new PrincipalHeaderCodec("benchmark-secret-benchmark-secret");
+        principalHeader = codec.encode(new GatewayPrincipal(
+                "7d3c1c52-2f0e-4a8e-9d55-0c7c5b2f1a11", "user", List.of("USER"), exp.getEpochSecond()));
+    }
+
+    @Benchmark
+    public Jwt jwtPerService() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public GatewayPrincipal signedPrincipalHeader() {
+        return codec.decode(principalHeader);
+    }
+}
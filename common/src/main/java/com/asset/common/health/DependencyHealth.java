@@ -0,0 +1,41 @@
+package com.asset.common.health;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Последний результат фоновой проверки зависимости.
+ */
+public record DependencyHealth(String status, String error, long checkedAt, long latencyMs) {
+
+    public static final String UP = "UP";
+    public static final String DOWN = "DOWN";
+    public static final String UNKNOWN = "UNKNOWN";
+
+    public static DependencyHealth unknown() {
+        return new DependencyHealth(UNKNOWN, null, 0, 0);
+    }
+
+    public static DependencyHealth up(long latencyMs) {
+        return new DependencyHealth(UP, null, System.currentTimeMillis(), latencyMs);
+    }
+
+    public static DependencyHealth down(String error, long latencyMs) {
+        return new DependencyHealth(DOWN, error, System.currentTimeMillis(), latencyMs);
+    }
+
+    public boolean isUp() {
+        return UP.equals(status);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("status", status);
+        if (error != null) {
+            map.put("error", error);
+        }
+        map.put("checkedAt", checkedAt);
+        map.put("latencyMs", latencyMs);
+        return map;
+    }
+}
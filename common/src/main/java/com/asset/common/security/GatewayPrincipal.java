@@ -0,0 +1,10 @@
+package com.asset.common.security;
+
+import java.util.List;
+
+/**
+ * Проверенный на api-gateway пользователь, передаётся сервисам в заголовке
+ * {@value PrincipalHeaderCodec#HEADER}. exp совпадает с exp исходного JWT.
+ */
+public record GatewayPrincipal(String sub, String username, List<String> roles, long exp) {
+}
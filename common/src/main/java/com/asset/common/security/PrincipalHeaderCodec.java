@@ -0,0 +1,98 @@
+package com.asset.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Компактный подписанный заголовок с пользователем, которого уже проверил
+ * api-gateway: {@code base64url(json).base64url(HMAC-SHA256)}. Проверка -
+ * один HMAC вместо разбора и RSA-проверки JWT в каждом сервисе.
+ *
+ * Кодирует api-gateway, проверяет asset-service; секрет у обоих задаётся
+ * свойством gateway.principal.secret. Пустой секрет выключает механизм.
+ */
+public class PrincipalHeaderCodec {
+
+    public static final String HEADER = "X-Auth-Principal";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public PrincipalHeaderCodec(String secret) {
+        if (secret == null || secret.isBlank()) {
+            this.key = null;
+            this.macs = null;
+            return;
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public boolean isEnabled() {
+        return key != null;
+    }
+
+    public String encode(GatewayPrincipal principal) {
+        try {
+            String payload = ENCODER.encodeToString(MAPPER.writeValueAsBytes(principal));
+            return payload + '.' + ENCODER.encodeToString(sign(payload));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode principal", e);
+        }
+    }
+
+    /**
+     * @return пользователь из заголовка или null, если подпись неверна,
+     * заголовок повреждён или срок действия истёк
+     */
+    public GatewayPrincipal decode(String header) {
+        if (!isEnabled() || header == null) {
+            return null;
+        }
+        int dot = header.lastIndexOf('.');
+        if (dot <= 0 || dot == header.length() - 1) {
+            return null;
+        }
+        String payload = header.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(header.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+            GatewayPrincipal principal = MAPPER.readValue(DECODER.decode(payload), GatewayPrincipal.class);
+            if (principal.exp() <= Instant.now().getEpochSecond()) {
+                return null;
+            }
+            return principal;
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
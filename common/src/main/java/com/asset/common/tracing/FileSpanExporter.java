@@ -0,0 +1,134 @@
+package com.asset.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Пишет завершённые span'ы в файл, один JSON-объект на строку, чтобы трассы
+ * можно было посмотреть без внешнего коллектора (scripts/trace.sh).
+ * Когда файл превышает maxBytes, он переименовывается в *.1 и начинается новый.
+ *
+ * Вызывается из потока BatchSpanProcessor, запись не блокирует запросы.
+ * Размер считается в байтах UTF-8, а не в символах.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSpanExporter.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String service;
+    private final Path file;
+    private final long maxBytes;
+
+    private OutputStream out;
+    private long written;
+
+    public FileSpanExporter(String service, Path file, long maxBytes) {
+        this.service = service;
+        this.file = file;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            if (out == null) {
+                open();
+            }
+            for (SpanData span : spans) {
+                byte[] line = objectMapper.writeValueAsBytes(toMap(span));
+                out.write(line);
+                out.write('\n');
+                written += line.length + 1;
+            }
+            out.flush();
+            if (written > maxBytes) {
+                rotate();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Failed to write {} spans to {}: {}", spans.size(), file, e.getMessage());
+            closeOutput();
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            if (out != null) {
+                out.flush();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        closeOutput();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private Map<String, Object> toMap(SpanData span) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("traceId", span.getTraceId());
+        result.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            result.put("parentSpanId", span.getParentSpanId());
+        }
+        result.put("service", service);
+        result.put("name", span.getName());
+        result.put("kind", span.getKind().name());
+        result.put("startMicros", span.getStartEpochNanos() / 1_000);
+        result.put("durationMs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000_000.0);
+        result.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        result.put("attributes", attributes);
+        return result;
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        written = Files.size(file);
+    }
+
+    private void rotate() throws IOException {
+        closeOutput();
+        Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void closeOutput() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("Failed to close span file {}", file, e);
+        }
+        out = null;
+    }
+}
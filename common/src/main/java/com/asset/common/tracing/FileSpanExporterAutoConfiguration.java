@@ -0,0 +1,35 @@
+package com.asset.common.tracing;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Path;
+
+/**
+ * Экспорт span'ов в локальный файл во всех сервисах. Распространение
+ * traceparent настраивать не нужно: его добавляют RestTemplate из
+ * RestTemplateBuilder и Spring Cloud Gateway, когда подключён Micrometer Tracing.
+ */
+@AutoConfiguration
+@ConditionalOnClass(SpanExporter.class)
+@ConditionalOnProperty(name = "tracing.export.file.enabled", havingValue = "true", matchIfMissing = true)
+public class FileSpanExporterAutoConfiguration {
+
+    @Value("${spring.application.name:application}")
+    private String serviceName;
+
+    @Value("${tracing.export.file.path:traces/${spring.application.name:application}.jsonl}")
+    private String path;
+
+    @Value("${tracing.export.file.max-bytes:104857600}")
+    private long maxBytes;
+
+    @Bean
+    public SpanExporter fileSpanExporter() {
+        return new FileSpanExporter(serviceName, Path.of(path), maxBytes);
+    }
+}
@@ -0,0 +1,29 @@
+package com.asset.common.health;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyHealthTest {
+
+    @Test
+    void unknownUntilFirstCheck() {
+        DependencyHealth health = DependencyHealth.unknown();
+
+        assertThat(health.isUp()).isFalse();
+        assertThat(health.toMap()).containsEntry("status", "UNKNOWN").doesNotContainKey("error");
+    }
+
+    @Test
+    void upAndDownCarryLatencyAndError() {
+        DependencyHealth up = DependencyHealth.up(12);
+        DependencyHealth down = DependencyHealth.down("Connection refused", 2000);
+
+        assertThat(up.isUp()).isTrue();
+        assertThat(up.toMap()).containsEntry("latencyMs", 12L).containsKey("checkedAt").doesNotContainKey("error");
+        assertThat(down.isUp()).isFalse();
+        assertThat(down.toMap()).containsEntry("status", "DOWN").containsEntry("error", "Connection refused")
+                .containsEntry("latencyMs", 2000L);
+        assertThat(down.toMap().keySet()).containsExactly("status", "error", "checkedAt", "latencyMs");
+    }
+}
@@ -0,0 +1,66 @@
+package com.asset.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalHeaderCodecTest {
+
+    // Формат на проводе: заголовок, подписанный api-gateway, должен читаться asset-service
+    private static final String WIRE_HEADER = "eyJzdWIiOiJ1LTEiLCJ1c2VybmFtZSI6ImFsaWNlIiwicm9sZXMiOlsidXNlciIsImFkbWluIl0s"
+            + "ImV4cCI6NDEwMjQ0NDgwMH0.uwnSEEVUMUYLYYQJkpUKBookzKtlt8tdXTxpUm6ZxOU";
+    private static final GatewayPrincipal WIRE_PRINCIPAL =
+            new GatewayPrincipal("u-1", "alice", List.of("user", "admin"), 4102444800L);
+
+    private final PrincipalHeaderCodec codec = new PrincipalHeaderCodec("test-secret");
+
+    @Test
+    void encodesFixedWireFormat() {
+        assertThat(codec.encode(WIRE_PRINCIPAL)).isEqualTo(WIRE_HEADER);
+        assertThat(codec.decode(WIRE_HEADER)).isEqualTo(WIRE_PRINCIPAL);
+    }
+
+    @Test
+    void roundTrip() {
+        GatewayPrincipal principal = new GatewayPrincipal("u-2", "Пётр", List.of(), expiresIn(60));
+
+        assertThat(codec.decode(codec.encode(principal))).isEqualTo(principal);
+    }
+
+    @Test
+    void rejectsTamperedOrForeignHeaders() {
+        String header = codec.encode(new GatewayPrincipal("u-1", "alice", List.of("user"), expiresIn(60)));
+        String forged = codec.encode(new GatewayPrincipal("u-1", "alice", List.of("admin"), expiresIn(60)));
+        String payload = header.substring(0, header.lastIndexOf('.'));
+        String signature = forged.substring(forged.lastIndexOf('.'));
+
+        assertThat(codec.decode(payload + signature)).isNull();
+        assertThat(new PrincipalHeaderCodec("other-secret").decode(header)).isNull();
+        assertThat(codec.decode(payload)).isNull();
+        assertThat(codec.decode(payload + ".")).isNull();
+        assertThat(codec.decode("not base64.%%%")).isNull();
+        assertThat(codec.decode(null)).isNull();
+    }
+
+    @Test
+    void rejectsExpiredPrincipal() {
+        String header = codec.encode(new GatewayPrincipal("u-1", "alice", List.of("user"), expiresIn(-1)));
+
+        assertThat(codec.decode(header)).isNull();
+    }
+
+    @Test
+    void blankSecretDisablesCodec() {
+        PrincipalHeaderCodec disabled = new PrincipalHeaderCodec(" ");
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.decode(WIRE_HEADER)).isNull();
+    }
+
+    private static long expiresIn(long seconds) {
+        return Instant.now().getEpochSecond() + seconds;
+    }
+}
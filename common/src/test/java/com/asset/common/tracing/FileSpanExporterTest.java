@@ -0,0 +1,71 @@
+package com.asset.common.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSpanExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesOneJsonObjectPerSpan() throws IOException {
+        Path file = dir.resolve("spans.jsonl");
+        try (SdkTracerProvider provider = provider(new FileSpanExporter("svc", file, 1_000_000))) {
+            Tracer tracer = provider.get("test");
+            Span parent = tracer.spanBuilder("parent").startSpan();
+            tracer.spanBuilder("child").setParent(io.opentelemetry.context.Context.root().with(parent))
+                    .startSpan().end();
+            parent.end();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode child = new ObjectMapper().readTree(lines.get(0));
+        JsonNode parent = new ObjectMapper().readTree(lines.get(1));
+        assertThat(child.get("name").asText()).isEqualTo("child");
+        assertThat(child.get("service").asText()).isEqualTo("svc");
+        assertThat(child.get("traceId").asText()).isEqualTo(parent.get("traceId").asText());
+        assertThat(child.get("parentSpanId").asText()).isEqualTo(parent.get("spanId").asText());
+        assertThat(parent.has("parentSpanId")).isFalse();
+    }
+
+    @Test
+    void rotatesByEncodedBytesNotChars() throws IOException {
+        Path file = dir.resolve("spans.jsonl");
+        // Кириллица - два байта UTF-8 на символ: по символам лимит не был бы превышен
+        String name = "запрос".repeat(50);
+        long limit = 700;
+        try (SdkTracerProvider provider = provider(new FileSpanExporter("svc", file, limit))) {
+            Span span = provider.get("test").spanBuilder(name).startSpan();
+            span.end();
+        }
+
+        Path rotated = dir.resolve("spans.jsonl.1");
+        assertThat(rotated).exists();
+        String line = Files.readString(rotated, StandardCharsets.UTF_8);
+        assertThat(line.length()).isLessThan((int) limit);
+        assertThat(line.getBytes(StandardCharsets.UTF_8).length).isGreaterThan((int) limit);
+        assertThat(file).doesNotExist();
+    }
+
+    private static SdkTracerProvider provider(FileSpanExporter exporter) {
+        return SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+    }
+}
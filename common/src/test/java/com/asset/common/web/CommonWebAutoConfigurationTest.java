@@ -0,0 +1,70 @@
+package com.asset.common.web;
+
+import com.asset.common.tracing.FileSpanExporter;
+import com.asset.common.tracing.FileSpanExporterAutoConfiguration;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommonWebAutoConfigurationTest {
+
+    private static final AutoConfigurations AUTO_CONFIGURATIONS = AutoConfigurations.of(
+            CommonWebAutoConfiguration.class, FileSpanExporterAutoConfiguration.class);
+
+    @Test
+    void servletServicesGetCorrelationFilterAndFileExporter() {
+        new WebApplicationContextRunner()
+                .withConfiguration(AUTO_CONFIGURATIONS)
+                .withPropertyValues("spring.application.name=asset-service",
+                        "tracing.export.file.path=target/traces/common-test.jsonl")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(CorrelationIdFilter.class);
+                    assertThat(context.getBean(SpanExporter.class)).isInstanceOf(FileSpanExporter.class);
+                });
+    }
+
+    @Test
+    void reactiveGatewayKeepsItsOwnFilter() {
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AUTO_CONFIGURATIONS)
+                .withPropertyValues("tracing.export.file.enabled=false")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(CorrelationIdFilter.class);
+                    assertThat(context).doesNotHaveBean(SpanExporter.class);
+                });
+    }
+
+    @Test
+    void filterKeepsIncomingIdAndClearsMdc() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        new CorrelationIdFilter().doFilter(request, response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req,
+                                           HttpServletResponse res) {
+                        seen.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+                    }
+                }));
+
+        assertThat(seen.get()).isEqualTo("abc-123");
+        assertThat(response.getHeader(CorrelationIdFilter.HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get(CorrelationIdFilter.MDC_KEY)).isNull();
+    }
+}
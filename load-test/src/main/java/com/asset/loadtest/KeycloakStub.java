@@ -0,0 +1,223 @@
+package com.asset.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Заглушка Keycloak для нагрузочного теста: token (password и refresh_token),
+ * token/introspect, certs (JWKS) и openid-configuration одного realm.
+ * Токены подписаны RS256 ключом, созданным при старте, поэтому gateway и
+ * auth-service проверяют их так же, как настоящие.
+ *
+ * Пароль не проверяется - это делает auth-service до вызова Keycloak.
+ * Задержка ответа token endpoint имитирует стоимость password grant.
+ *
+ * Запуск: java -cp load-test.jar com.asset.loadtest.KeycloakStub [порт] [задержка_мс] [потоки]
+ * (потоки ограничивают число одновременно обслуживаемых запросов, по умолчанию 64)
+ */
+public class KeycloakStub {
+
+    private static final String REALM = "asset-management";
+    private static final String KEY_ID = "load-test";
+    private static final long ACCESS_TOKEN_SECONDS = 300;
+    private static final long REFRESH_TOKEN_SECONDS = 1800;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String issuer;
+    private final long tokenLatencyMs;
+    private final RSASSASigner signer;
+    private final String jwks;
+    // refresh-токен -> пользователь
+    private final Map<String, String> refreshTokens = new ConcurrentHashMap<>();
+
+    public KeycloakStub(int port, long tokenLatencyMs) throws NoSuchAlgorithmException {
+        this.issuer = "http://localhost:" + port + "/realms/" + REALM;
+        this.tokenLatencyMs = tokenLatencyMs;
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAKey signingKey = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                .keyID(KEY_ID)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.RS256)
+                .build();
+        this.signer = new RSASSASigner(keyPair.getPrivate());
+        this.jwks = new JWKSet(signingKey.toPublicJWK()).toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8180;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 20;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        // По умолчанию HttpServer держит 200 keep-alive соединений и закрывает лишние,
+        // а пул клиента auth-service пытается их переиспользовать ("failed to respond")
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(Math.max(threads, 200)));
+        }
+
+        KeycloakStub stub = new KeycloakStub(port, latencyMs);
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 512);
+        server.setExecutor(Executors.newFixedThreadPool(threads));
+        server.createContext("/realms/" + REALM + "/", stub::handle);
+        server.start();
+        System.out.println("Keycloak stub listening on http://localhost:" + port
+                + " (realm " + REALM + ", token latency " + latencyMs + " ms)");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(("/realms/" + REALM).length());
+            switch (path) {
+                case "/protocol/openid-connect/token" -> token(exchange);
+                case "/protocol/openid-connect/token/introspect" -> introspect(exchange);
+                case "/protocol/openid-connect/certs" -> respond(exchange, 200, jwks);
+                case "/.well-known/openid-configuration" -> respond(exchange, 200, openIdConfiguration());
+                default -> respond(exchange, 404, "{\"error\":\"not_found\"}");
+            }
+        } catch (JOSEException e) {
+            throw new IOException(e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void token(HttpExchange exchange) throws IOException, JOSEException {
+        Map<String, String> form = readForm(exchange);
+        String username;
+        if ("password".equals(form.get("grant_type"))) {
+            username = form.get("username");
+        } else if ("refresh_token".equals(form.get("grant_type"))) {
+            // Как в Keycloak с ротацией: старый refresh-токен больше не действует
+            username = refreshTokens.remove(String.valueOf(form.get("refresh_token")));
+        } else {
+            respond(exchange, 400, "{\"error\":\"unsupported_grant_type\"}");
+            return;
+        }
+        if (username == null || username.isBlank()) {
+            respond(exchange, 400, "{\"error\":\"invalid_grant\"}");
+            return;
+        }
+
+        sleep(tokenLatencyMs);
+
+        String refreshToken = UUID.randomUUID().toString();
+        refreshTokens.put(refreshToken, username);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("access_token", accessToken(username));
+        body.put("expires_in", ACCESS_TOKEN_SECONDS);
+        body.put("refresh_expires_in", REFRESH_TOKEN_SECONDS);
+        body.put("refresh_token", refreshToken);
+        body.put("token_type", "Bearer");
+        body.put("scope", "openid profile email");
+        respond(exchange, 200, MAPPER.writeValueAsString(body));
+    }
+
+    private void introspect(HttpExchange exchange) throws IOException {
+        readForm(exchange);
+        respond(exchange, 200, "{\"active\":true}");
+    }
+
+    private String accessToken(String username) throws JOSEException {
+        long now = System.currentTimeMillis();
+        List<String> roles = "admin".equals(username) ? List.of("admin", "user") : List.of("user");
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)).toString())
+                .audience("account")
+                .issueTime(new Date(now))
+                .expirationTime(new Date(now + ACCESS_TOKEN_SECONDS * 1000))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("typ", "Bearer")
+                .claim("azp", "asset-backend")
+                .claim("preferred_username", username)
+                .claim("email", username + "@example.com")
+                .claim("given_name", username)
+                .claim("family_name", "LoadTest")
+                .claim("realm_access", Map.of("roles", roles))
+                .claim("scope", "openid profile email")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(KEY_ID)
+                .type(JOSEObjectType.JWT)
+                .build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+
+    private String openIdConfiguration() throws IOException {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("issuer", issuer);
+        config.put("token_endpoint", issuer + "/protocol/openid-connect/token");
+        config.put("introspection_endpoint", issuer + "/protocol/openid-connect/token/introspect");
+        config.put("jwks_uri", issuer + "/protocol/openid-connect/certs");
+        config.put("grant_types_supported", List.of("password", "refresh_token"));
+        return MAPPER.writeValueAsString(config);
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.asset.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Задержки одного маршрута в одном потоке генератора: растущий массив long
+ * без синхронизации. После прогона записи всех потоков сливаются в одну.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long latencyNanos, boolean success) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Сортирует накопленные значения; вызывать один раз перед percentileMillis.
+     */
+    void sort() {
+        Arrays.sort(nanos, 0, count);
+    }
+
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return nanos[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,294 @@
+package com.asset.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Генератор нагрузки через api-gateway: смесь login, /me, список, получение
+ * и создание активов. Считает p50/p99 и RPS по каждому маршруту, печатает
+ * таблицу и пишет JSON-отчёт.
+ *
+ * Параметры (--имя=значение): gateway, threads, duration, warmup (секунды),
+ * mix (например login:5,me:20,list:40,get:25,create:10), username, password,
+ * seed (сколько активов создать до прогона), out (путь JSON-отчёта).
+ */
+public class LoadDriver {
+
+    enum Route {
+        LOGIN("login"), ME("me"), LIST("list"), GET("get"), CREATE("create");
+
+        final String key;
+
+        Route(String key) {
+            this.key = key;
+        }
+
+        static Route of(String key) {
+            for (Route route : values()) {
+                if (route.key.equals(key)) {
+                    return route;
+                }
+            }
+            throw new IllegalArgumentException("Unknown route in mix: " + key);
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String gateway;
+    private final String username;
+    private final String password;
+    private final HttpClient client;
+    private final AtomicLong createdCounter = new AtomicLong();
+    private long[] assetIds;
+
+    private final Route[] mixRoutes;
+    private final int[] mixCumulative;
+
+    LoadDriver(Map<String, String> options) {
+        this.gateway = options.getOrDefault("gateway", "http://localhost:8082");
+        this.username = options.getOrDefault("username", "admin");
+        this.password = options.getOrDefault("password", "admin123");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String[] entries = options.getOrDefault("mix", "login:5,me:20,list:40,get:25,create:10").split(",");
+        mixRoutes = new Route[entries.length];
+        mixCumulative = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":");
+            mixRoutes[i] = Route.of(parts[0]);
+            total += Integer.parseInt(parts[1]);
+            mixCumulative[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        int threads = Integer.parseInt(options.getOrDefault("threads", "32"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int seed = Integer.parseInt(options.getOrDefault("seed", "200"));
+        Path out = Path.of(options.getOrDefault("out", "load-test/results/report.json"));
+
+        LoadDriver driver = new LoadDriver(options);
+        String token = driver.login();
+        if (token == null) {
+            System.err.println("Login through " + driver.gateway + " failed, aborting");
+            System.exit(1);
+        }
+        driver.seed(token, seed);
+
+        System.out.printf("Load: %d threads, %ds warmup + %ds measured, mix %s%n",
+                threads, warmupSeconds, durationSeconds, options.getOrDefault("mix", "default"));
+        Map<Route, LatencyRecorder> results = driver.run(threads, warmupSeconds, durationSeconds);
+
+        Map<String, Object> report = driver.report(results, durationSeconds, options);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        MAPPER.writeValue(out.toFile(), report);
+        System.out.println("Report: " + out);
+    }
+
+    Map<Route, LatencyRecorder> run(int threads, int warmupSeconds, int durationSeconds) throws Exception {
+        long measureStart = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureStart + Duration.ofSeconds(durationSeconds).toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Map<Route, LatencyRecorder>>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> worker(measureStart, end)));
+        }
+
+        Map<Route, LatencyRecorder> merged = newRecorders();
+        for (Future<Map<Route, LatencyRecorder>> future : futures) {
+            future.get().forEach((route, recorder) -> merged.get(route).merge(recorder));
+        }
+        executor.shutdown();
+        return merged;
+    }
+
+    private Map<Route, LatencyRecorder> worker(long measureStart, long end) {
+        Map<Route, LatencyRecorder> recorders = newRecorders();
+        String token = login();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            Route route = pick(random.nextInt(mixCumulative[mixCumulative.length - 1]));
+            boolean success;
+            try {
+                success = execute(route, token, random);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (start >= measureStart) {
+                recorders.get(route).record(System.nanoTime() - start, success);
+            }
+        }
+        return recorders;
+    }
+
+    private boolean execute(Route route, String token, ThreadLocalRandom random)
+            throws IOException, InterruptedException {
+        HttpRequest request = switch (route) {
+            case LOGIN -> loginRequest();
+            case ME -> authorized("/api/auth/me", token).GET().build();
+            case LIST -> authorized("/api/assets?size=50", token).GET().build();
+            case GET -> authorized("/api/assets/" + assetIds[random.nextInt(assetIds.length)], token).GET().build();
+            case CREATE -> authorized("/api/assets", token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(newAsset()))
+                    .build();
+        };
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        return (status >= 200 && status < 300) || status == 304;
+    }
+
+    String login() {
+        try {
+            HttpResponse<String> response = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            return MAPPER.readTree(response.body()).path("accessToken").asText(null);
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    void seed(String token, int count) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = authorized("/api/assets", token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(newAsset()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode()
+                        + ": " + response.body());
+            }
+            JsonNode id = MAPPER.readTree(response.body()).path("id");
+            ids.add(id.asLong());
+        }
+        assetIds = ids.stream().mapToLong(Long::longValue).toArray();
+        System.out.println("Seeded " + count + " assets");
+    }
+
+    private Map<String, Object> report(Map<Route, LatencyRecorder> results, int durationSeconds,
+                                       Map<String, String> options) {
+        Map<String, Object> routes = new LinkedHashMap<>();
+        LatencyRecorder total = new LatencyRecorder();
+
+        System.out.printf("%-8s %10s %8s %10s %10s %10s%n", "route", "requests", "errors", "rps", "p50 ms", "p99 ms");
+        for (Route route : Route.values()) {
+            LatencyRecorder recorder = results.get(route);
+            if (recorder.count() == 0) {
+                continue;
+            }
+            total.merge(recorder);
+            routes.put(route.key, summary(recorder, durationSeconds));
+        }
+        routes.put("total", summary(total, durationSeconds));
+
+        routes.forEach((name, value) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> row = (Map<String, Object>) value;
+            System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f%n", name, row.get("requests"), row.get("errors"),
+                    row.get("rps"), row.get("p50Ms"), row.get("p99Ms"));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", System.currentTimeMillis());
+        report.put("options", options);
+        report.put("durationSeconds", durationSeconds);
+        report.put("routes", routes);
+        return report;
+    }
+
+    private static Map<String, Object> summary(LatencyRecorder recorder, int durationSeconds) {
+        recorder.sort();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("requests", recorder.count());
+        row.put("errors", recorder.errors());
+        row.put("rps", (double) recorder.count() / durationSeconds);
+        row.put("p50Ms", recorder.percentileMillis(50));
+        row.put("p99Ms", recorder.percentileMillis(99));
+        row.put("maxMs", recorder.percentileMillis(100));
+        return row;
+    }
+
+    private Route pick(int value) {
+        for (int i = 0; i < mixCumulative.length; i++) {
+            if (value < mixCumulative[i]) {
+                return mixRoutes[i];
+            }
+        }
+        return mixRoutes[mixRoutes.length - 1];
+    }
+
+    private HttpRequest loginRequest() {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        return HttpRequest.newBuilder(URI.create(gateway + "/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(gateway + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private String newAsset() {
+        long n = createdCounter.incrementAndGet();
+        return "{\"name\":\"load-asset-" + n + "\",\"description\":\"Load test asset\","
+                + "\"category\":\"SERVER\",\"confidentiality\":\"HIGH\",\"integrity\":\"MEDIUM\","
+                + "\"availability\":\"LOW\"}";
+    }
+
+    private static Map<Route, LatencyRecorder> newRecorders() {
+        Map<Route, LatencyRecorder> recorders = new EnumMap<>(Route.class);
+        for (Route route : Route.values()) {
+            recorders.put(route, new LatencyRecorder());
+        }
+        return recorders;
+    }
+}
@@ -0,0 +1,20 @@
+-- Размер таблицы assets и её индексов в PostgreSQL. Запускать до и после
+-- миграции V2__compact_classification.sql (db/migration/postgresql), чтобы сравнить:
+--   psql -f scripts/asset-storage-size.sql assets
+
+SELECT count(*)                                   AS rows,
+       round(avg(pg_column_size(a.*)), 1)         AS avg_row_bytes,
+       round(avg(coalesce(pg_column_size(a.category), 0) + coalesce(pg_column_size(a.status), 0)
+           + coalesce(pg_column_size(a.confidentiality), 0)
+           + coalesce(pg_column_size(a.integrity), 0)
+           + coalesce(pg_column_size(a.availability), 0)), 1) AS avg_classification_bytes
+FROM assets a;
+
+SELECT pg_size_pretty(pg_table_size('assets'))   AS table_size,
+       pg_size_pretty(pg_indexes_size('assets')) AS indexes_size;
+
+SELECT indexrelname                               AS index_name,
+       pg_size_pretty(pg_relation_size(indexrelid)) AS size
+FROM pg_stat_user_indexes
+WHERE relname = 'assets'
+ORDER BY pg_relation_size(indexrelid) DESC;
@@ -0,0 +1,113 @@
+#!/bin/bash
+
+# Сквозной нагрузочный тест gateway -> auth-service/asset-service на одной
+# машине без сети: заглушка Keycloak (load-test/KeycloakStub), asset-service
+# на H2 в памяти. Сервисы запускаются из собранных jar и останавливаются
+# по завершении.
+#
+# Использование:
+#   scripts/load-test.sh [ОПЦИИ_ГЕНЕРАТОРА...]
+#   scripts/load-test.sh --threads=64 --duration=120
+#   scripts/load-test.sh --mix=list:70,get:30
+#
+# Переменные окружения:
+#   SKIP_BUILD=1            не пересобирать jar
+#   KEYCLOAK_LATENCY_MS=20  задержка token endpoint заглушки
+#   KEYCLOAK_THREADS=64     сколько запросов заглушка обслуживает одновременно
+#   EDGE_CACHE=true         кэш GET-ответов на gateway
+#   LOGIN_CACHE=true        кэш пар токенов в auth-service
+#   AUTH_EXECUTION_MODE=platform|virtual
+#   TRACING_SAMPLING_PROBABILITY=1.0  доля трассируемых запросов (span'ы в traces/, см. scripts/trace.sh)
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+KEYCLOAK_PORT=8180
+KEYCLOAK_URL="http://localhost:$KEYCLOAK_PORT"
+PRINCIPAL_SECRET="load-test-principal-secret"
+LOG_DIR=load-test/results/logs
+REPORT="load-test/results/$(date +%Y%m%d-%H%M%S).json"
+PIDS=()
+
+mkdir -p "$LOG_DIR"
+
+cleanup() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+    wait 2>/dev/null || true
+}
+trap cleanup EXIT
+
+if [ -z "$SKIP_BUILD" ]; then
+    echo "=== Building ==="
+    mvn -B -q -pl api-gateway,auth-service,asset-service,load-test -am package -DskipTests
+fi
+
+wait_for() {
+    local name=$1
+    local url=$2
+    for i in {1..60}; do
+        if curl -sf "$url" > /dev/null 2>&1; then
+            echo "✅ $name is up"
+            return 0
+        fi
+        sleep 1
+    done
+    echo "ERROR: $name did not start, see $LOG_DIR"
+    exit 1
+}
+
+echo "=== Starting Keycloak stub ==="
+java -cp load-test/target/load-test.jar com.asset.loadtest.KeycloakStub \
+    "$KEYCLOAK_PORT" "${KEYCLOAK_LATENCY_MS:-20}" "${KEYCLOAK_THREADS:-64}" > "$LOG_DIR/keycloak-stub.log" 2>&1 &
+PIDS+=($!)
+wait_for "Keycloak stub" "$KEYCLOAK_URL/realms/asset-management/protocol/openid-connect/certs"
+
+echo "=== Starting asset-service (H2) ==="
+SPRING_PROFILES_ACTIVE=plain-logs java -jar asset-service/target/asset-service-1.0.0-exec.jar \
+    --server.port=8084 \
+    --spring.datasource.url="jdbc:h2:mem:assets;DB_CLOSE_DELAY=-1" \
+    --spring.datasource.username=sa \
+    --spring.datasource.password= \
+    --gateway.principal.secret="$PRINCIPAL_SECRET" \
+    > "$LOG_DIR/asset-service.log" 2>&1 &
+PIDS+=($!)
+
+echo "=== Starting auth-service ==="
+SPRING_PROFILES_ACTIVE=plain-logs java -jar auth-service/target/auth-service-1.0.0-exec.jar \
+    --server.port=8083 \
+    --keycloak.url="$KEYCLOAK_URL" \
+    --keycloak.enabled=true \
+    --auth.fallback.enabled=false \
+    --auth.execution.mode="${AUTH_EXECUTION_MODE:-platform}" \
+    --auth.login-cache.enabled="${LOGIN_CACHE:-true}" \
+    > "$LOG_DIR/auth-service.log" 2>&1 &
+PIDS+=($!)
+
+echo "=== Starting api-gateway ==="
+SPRING_PROFILES_ACTIVE=plain-logs java -jar api-gateway/target/api-gateway-1.0.0.jar \
+    --server.port=8082 \
+    --spring.application.name=api-gateway \
+    --keycloak.url="$KEYCLOAK_URL" \
+    --services.auth.url=http://localhost:8083 \
+    --services.asset.url=http://localhost:8084 \
+    "--spring.cloud.gateway.routes[0].id=auth-service" \
+    "--spring.cloud.gateway.routes[0].uri=http://localhost:8083" \
+    "--spring.cloud.gateway.routes[0].predicates[0]=Path=/api/auth/**" \
+    "--spring.cloud.gateway.routes[1].id=asset-service" \
+    "--spring.cloud.gateway.routes[1].uri=http://localhost:8084" \
+    "--spring.cloud.gateway.routes[1].predicates[0]=Path=/api/assets/**" \
+    --gateway.principal.secret="$PRINCIPAL_SECRET" \
+    --gateway.rate-limit.enabled=false \
+    --gateway.edge-cache.enabled="${EDGE_CACHE:-true}" \
+    > "$LOG_DIR/api-gateway.log" 2>&1 &
+PIDS+=($!)
+
+wait_for "asset-service" "http://localhost:8084/api/assets/health/ready"
+wait_for "auth-service" "http://localhost:8083/api/auth/health/ready"
+wait_for "api-gateway" "http://localhost:8082/api/gateway/health/ready"
+
+echo "=== Running load ==="
+java -jar load-test/target/load-test.jar --gateway=http://localhost:8082 --out="$REPORT" "$@"
@@ -0,0 +1,89 @@
+#!/bin/bash
+
+# Ёмкость логина auth-service в двух режимах выполнения запросов:
+#   AUTH_EXECUTION_MODE=platform  (потоки Tomcat, по умолчанию)
+#   AUTH_EXECUTION_MODE=virtual   (виртуальные потоки, Java 21+)
+# auth-service ходит в заглушку Keycloak (load-test/KeycloakStub) с задержкой
+# token endpoint; кэш логина выключен, bulkhead и пул соединений к Keycloak
+# расширены, чтобы параллелизм ограничивали только потоки обработки запросов.
+# Генератор (load-test/LoadDriver) шлёт только POST /api/auth/login.
+#
+# Использование:
+#   scripts/login-load-test.sh [ОПЦИИ_ГЕНЕРАТОРА...]
+#   AUTH_EXECUTION_MODE=virtual JAVA=/opt/jdk-21/bin/java scripts/login-load-test.sh --threads=400
+#
+# Переменные окружения:
+#   SKIP_BUILD=1              не пересобирать jar
+#   KEYCLOAK_LATENCY_MS=3000  задержка token endpoint заглушки
+#   AUTH_EXECUTION_MODE=platform|virtual
+#   JAVA=java                 JVM для auth-service (для virtual нужна 21+)
+#
+# Замеры: load-test/reference/
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+KEYCLOAK_PORT=8180
+MODE=${AUTH_EXECUTION_MODE:-platform}
+LATENCY=${KEYCLOAK_LATENCY_MS:-3000}
+LOG_DIR=load-test/results/logs
+REPORT="load-test/results/login-$MODE-${LATENCY}ms-$(date +%Y%m%d-%H%M%S).json"
+PIDS=()
+
+mkdir -p "$LOG_DIR"
+
+cleanup() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+    wait 2>/dev/null || true
+}
+trap cleanup EXIT
+
+if [ -z "$SKIP_BUILD" ]; then
+    echo "=== Building ==="
+    mvn -B -q -pl auth-service,load-test -am package -DskipTests
+fi
+
+wait_for() {
+    local name=$1
+    local url=$2
+    for i in {1..90}; do
+        if curl -sf "$url" > /dev/null 2>&1; then
+            echo "✅ $name is up"
+            return 0
+        fi
+        sleep 1
+    done
+    echo "ERROR: $name did not start, see $LOG_DIR"
+    exit 1
+}
+
+echo "=== Starting Keycloak stub (token latency ${LATENCY} ms) ==="
+java -cp load-test/target/load-test.jar com.asset.loadtest.KeycloakStub \
+    "$KEYCLOAK_PORT" "$LATENCY" 2000 > "$LOG_DIR/keycloak-stub.log" 2>&1 &
+PIDS+=($!)
+wait_for "Keycloak stub" "http://localhost:$KEYCLOAK_PORT/realms/asset-management/protocol/openid-connect/certs"
+
+echo "=== Starting auth-service ($MODE) ==="
+SPRING_PROFILES_ACTIVE=plain-logs "${JAVA:-java}" -jar auth-service/target/auth-service-1.0.0-exec.jar \
+    --server.port=8083 \
+    --keycloak.url="http://localhost:$KEYCLOAK_PORT" \
+    --keycloak.enabled=true \
+    --auth.fallback.enabled=false \
+    --auth.execution.mode="$MODE" \
+    --auth.login-cache.enabled=false \
+    --keycloak.bulkhead.max-concurrent-calls=2000 \
+    --keycloak.http.max-connections=2000 \
+    --keycloak.http.max-connections-per-route=2000 \
+    --tracing.export.file.enabled=false \
+    --logging.level.root=WARN \
+    > "$LOG_DIR/auth-service.log" 2>&1 &
+PIDS+=($!)
+wait_for "auth-service" "http://localhost:8083/api/auth/health/ready"
+
+echo "=== Running login load ==="
+java -jar load-test/target/load-test.jar --gateway=http://localhost:8083 \
+    --username=user --password=user123 --mix=login:1 --seed=0 \
+    --threads=400 --warmup=15 --duration=45 --out="$REPORT" "$@"
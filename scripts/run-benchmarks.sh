@@ -0,0 +1,45 @@
+#!/bin/bash
+
+# JMH-бенчмарки горячих путей сервисов. Результаты пишутся в JSON
+# (benchmarks/results/<дата>.json), чтобы сравнивать прогоны между собой.
+# Опорный прогон всего набора лежит в benchmarks/reference/ (машина указана
+# в имени файла) - с ним сравнивается новый результат.
+#
+# Использование:
+#   scripts/run-benchmarks.sh [ФИЛЬТР_JMH] [ДОП_ОПЦИИ_JMH...]
+#   scripts/run-benchmarks.sh                       # все бенчмарки
+#   scripts/run-benchmarks.sh AssetRepository       # только запросы к H2
+#   scripts/run-benchmarks.sh JwtClaims -prof gc    # с профилем аллокаций
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+FILTER=${1:-.}
+shift || true
+
+RESULTS_DIR=benchmarks/results
+RESULT_FILE="$RESULTS_DIR/$(date +%Y%m%d-%H%M%S).json"
+mkdir -p "$RESULTS_DIR"
+
+JAR=benchmarks/target/benchmarks.jar
+
+if [ -z "$SKIP_BUILD" ]; then
+    mvn -B -q -pl benchmarks -am package -DskipTests
+fi
+
+if [ ! -f "$JAR" ]; then
+    echo "ERROR: $JAR not found (build failed or SKIP_BUILD without a previous build)" >&2
+    exit 1
+fi
+
+echo "=== JMH: $FILTER ==="
+java -jar "$JAR" "$FILTER" -rf json -rff "$RESULT_FILE" "$@"
+
+# JMH не пишет файл, если фильтр не совпал ни с одним бенчмарком
+if [ ! -s "$RESULT_FILE" ]; then
+    echo "ERROR: no results written to $RESULT_FILE (does '$FILTER' match any benchmark?)" >&2
+    exit 1
+fi
+
+echo "Results: $RESULT_FILE"
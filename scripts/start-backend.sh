@@ -69,6 +69,10 @@ build_service() {
 # Собираем все сервисы
 FAILED_BUILDS=0
 
+# Сервисы собираются по отдельности, поэтому общий модуль сначала ставится в ~/.m2
+echo "--- Installing common ---"
+(cd common && mvn -B -q install -DskipTests) || FAILED_BUILDS=$((FAILED_BUILDS + 1))
+
 build_service "api-gateway" || FAILED_BUILDS=$((FAILED_BUILDS + 1))
 build_service "auth-service" || FAILED_BUILDS=$((FAILED_BUILDS + 1))
 build_service "asset-service" || FAILED_BUILDS=$((FAILED_BUILDS + 1))
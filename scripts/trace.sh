@@ -0,0 +1,36 @@
+#!/bin/bash
+
+# Просмотр трасс из файлов span'ов (traces/*.jsonl), которые пишут сервисы.
+# Требуется jq.
+#
+# Использование:
+#   scripts/trace.sh                 # 20 самых медленных запросов через gateway
+#   scripts/trace.sh <traceId>       # все span'ы трассы по сервисам, по времени начала
+#
+# TRACES_DIR - каталог с файлами (по умолчанию traces/ в корне репозитория).
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+TRACES_DIR=${TRACES_DIR:-traces}
+
+if ! command -v jq > /dev/null; then
+    echo "jq is required" >&2
+    exit 1
+fi
+
+if [ -z "$1" ]; then
+    # Корневые span'ы gateway: входящий запрос без родителя
+    cat "$TRACES_DIR"/*.jsonl | jq -s -r '
+        map(select(.service == "api-gateway" and .kind == "SERVER" and (.parentSpanId | not)))
+        | sort_by(-.durationMs) | .[:20][]
+        | "\(.traceId)  \(.durationMs | floor) ms  \(.attributes["http.method"] // "") \(.attributes["http.url"] // .name)"'
+    exit 0
+fi
+
+cat "$TRACES_DIR"/*.jsonl | jq -s -r --arg trace "$1" '
+    map(select(.traceId == $trace)) | sort_by(.startMicros)
+    | (.[0].startMicros // 0) as $start
+    | .[]
+    | "+\(((.startMicros - $start) / 1000) | floor) ms\t\(.durationMs * 100 | floor / 100) ms\t\(.service)\t\(.kind)\t\(.name)"'